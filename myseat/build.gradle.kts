@@ -1,7 +1,11 @@
+import java.util.Properties
+import java.util.zip.ZipFile
+
 plugins {
     java
     id("org.springframework.boot") version "3.3.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.kusal"
@@ -9,7 +13,8 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion.set(JavaLanguageVersion.of(17))
+        // -PjavaVersion=21 builds and runs on Java 21, which spring.threads.virtual.enabled needs
+        languageVersion.set(JavaLanguageVersion.of((findProperty("javaVersion") as String?)?.toInt() ?: 17))
     }
 }
 
@@ -17,15 +22,24 @@ repositories {
     mavenCentral()
 }
 
+val stress: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
     implementation("io.jsonwebtoken:jjwt-api:0.12.6")
 
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.6")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.6")
 
@@ -35,8 +49,85 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testRuntimeOnly("com.h2database:h2")
+
+    "stressRuntimeOnly"("com.h2database:h2")
+    "jmhRuntimeOnly"("com.h2database:h2")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("bookingStress") {
+    group = "verification"
+    description = "Runs concurrent bookings against an embedded H2 database and checks for double booking."
+    classpath = stress.runtimeClasspath
+    mainClass.set("com.kusal.myseat.stress.BookingStressHarness")
+    args = (findProperty("stressArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+// The JMH jar flattens every dependency into one archive, which keeps only the first copy of
+// each META-INF/spring.factories, auto-configuration list and service file it meets. Benchmarks
+// that start Spring Boot or load a JDBC driver need all of them, so the jar gets merged copies.
+val mergedMetadata = listOf("META-INF/spring.factories", "META-INF/spring/", "META-INF/services/")
+val mergeJmhMetadata by tasks.registering {
+    val classpath = sourceSets["jmh"].runtimeClasspath
+    val outputDir = layout.buildDirectory.dir("jmh-merged-metadata")
+    inputs.files(classpath)
+    outputs.dir(outputDir)
+    doLast {
+        val factories = linkedMapOf<String, LinkedHashSet<String>>()
+        val imports = linkedMapOf<String, LinkedHashSet<String>>()
+        fun read(path: String, text: String) {
+            if (path == "META-INF/spring.factories") {
+                val properties = Properties().apply { load(text.reader()) }
+                properties.stringPropertyNames().forEach { key ->
+                    factories.getOrPut(key) { linkedSetOf() } +=
+                        properties.getProperty(key).split(",").map { it.trim() }.filter { it.isNotEmpty() }
+                }
+            } else if ((path.startsWith("META-INF/spring/") && path.endsWith(".imports"))
+                || (path.startsWith("META-INF/services/") && path.count { it == '/' } == 2)) {
+                imports.getOrPut(path) { linkedSetOf() } +=
+                    text.lines().map { it.trim() }.filter { it.isNotEmpty() && !it.startsWith("#") }
+            }
+        }
+        classpath.filter { it.exists() }.forEach { entry ->
+            if (entry.isDirectory) {
+                entry.walkTopDown().filter { it.isFile }.forEach { read(it.relativeTo(entry).invariantSeparatorsPath, it.readText()) }
+            } else if (entry.name.endsWith(".jar")) {
+                ZipFile(entry).use { zip ->
+                    zip.entries().asSequence().filter { !it.isDirectory }.forEach {
+                        read(it.name, zip.getInputStream(it).bufferedReader().readText())
+                    }
+                }
+            }
+        }
+        val root = outputDir.get().asFile.apply { deleteRecursively() }
+        root.resolve("META-INF/spring").mkdirs()
+        root.resolve("META-INF/services").mkdirs()
+        root.resolve("META-INF/spring.factories").writeText(
+            factories.entries.joinToString("\n") { (key, values) -> key + "=" + values.joinToString(",") } + "\n"
+        )
+        imports.forEach { (path, lines) -> root.resolve(path).writeText(lines.joinToString("\n") + "\n") }
+    }
+}
+
+tasks.named<Jar>("jmhJar") {
+    val merged = mergeJmhMetadata.map { it.outputs.files.singleFile }
+    from(merged)
+    eachFile {
+        if (mergedMetadata.any { path.startsWith(it) } && !file.startsWith(merged.get())) {
+            exclude()
+        }
+    }
+}
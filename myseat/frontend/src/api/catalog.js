@@ -1,7 +1,7 @@
 import api from './client'
 
-export const getEvents = async () => {
-  const { data } = await api.get('/events')
+export const getEvents = async (params = {}) => {
+  const { data } = await api.get('/events', { params })
   return data
 }
 
@@ -4,14 +4,17 @@ import { getEvents } from '../api/catalog'
 
 function EventsPage() {
   const [events, setEvents] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState('')
 
   useEffect(() => {
     const load = async () => {
       try {
-        const data = await getEvents()
-        setEvents(data)
+        const page = await getEvents()
+        setEvents(page.events)
+        setNextCursor(page.nextCursor)
       } catch (err) {
         setError(err?.response?.data?.message || 'Failed to load events')
       } finally {
@@ -22,6 +25,19 @@ function EventsPage() {
     load()
   }, [])
 
+  const loadMore = async () => {
+    setLoadingMore(true)
+    try {
+      const page = await getEvents({ cursor: nextCursor })
+      setEvents((current) => [...current, ...page.events])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      setError(err?.response?.data?.message || 'Failed to load events')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   if (loading) {
     return <p className="text-sm text-slate-600">Loading events...</p>
   }
@@ -49,6 +65,13 @@ function EventsPage() {
                 <p className="mt-1 text-sm text-slate-600">
                   {new Date(eventItem.eventDate).toLocaleString()}
                 </p>
+                {eventItem.availability && (
+                  <p className={`mt-1 text-sm font-medium ${eventItem.availability.available > 0 ? 'text-green-700' : 'text-red-600'}`}>
+                    {eventItem.availability.available > 0
+                      ? `${eventItem.availability.available} seats left`
+                      : 'Sold out'}
+                  </p>
+                )}
               <Link
                 to={`/events/${eventItem.id}`}
                 className="mt-4 inline-block rounded bg-blue-600 px-3 py-2 text-sm font-medium text-white hover:bg-blue-700"
@@ -60,6 +83,16 @@ function EventsPage() {
           ))}
         </div>
       )}
+      {nextCursor && (
+        <button
+          type="button"
+          onClick={loadMore}
+          disabled={loadingMore}
+          className="mt-6 rounded border px-4 py-2 text-sm font-medium hover:bg-slate-50 disabled:opacity-50"
+        >
+          {loadingMore ? 'Loading...' : 'Load more'}
+        </button>
+      )}
     </div>
   )
 }
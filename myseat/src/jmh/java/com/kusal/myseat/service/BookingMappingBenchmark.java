@@ -0,0 +1,47 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.BookingResponse;
+import com.kusal.myseat.entity.Booking;
+import com.kusal.myseat.entity.BookingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingMappingBenchmark {
+
+    @Param({"1", "4", "10"})
+    private int seatsPerBooking;
+
+    private Booking booking;
+    private List<Long> seatIds;
+
+    @Setup
+    public void setUp() {
+        booking = Booking.builder()
+                .id(1L)
+                .totalAmount(2500.0 * seatsPerBooking)
+                .status(BookingStatus.RESERVED)
+                .reservedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        seatIds = LongStream.rangeClosed(1, seatsPerBooking).boxed().toList();
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return BookingService.toResponse(booking, seatIds);
+    }
+}
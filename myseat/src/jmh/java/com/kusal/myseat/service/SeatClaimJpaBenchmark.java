@@ -0,0 +1,108 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.MyseatApplication;
+import com.kusal.myseat.dto.CreateBookingRequest;
+import com.kusal.myseat.dto.CreateEventRequest;
+import com.kusal.myseat.dto.CreateSectionRequest;
+import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.entity.Venue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claims four adjacent seats in a 60k-seat section through the database path the in-memory
+ * inventory replaces: {@code createBooking} with the inventory off, against H2 in PostgreSQL mode.
+ * The claim is flushed, so the version-checked or conditional update really runs, and then rolled
+ * back to keep the section free. Compare with {@link SeatInventoryBenchmark}, which does the same
+ * claim in memory. H2 has no network round trip, so this is a floor for the database path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SeatClaimJpaBenchmark {
+
+    private static final int ROWS = 200;
+    private static final int COLUMNS = 300;
+
+    @Param({"OPTIMISTIC", "CONDITIONAL"})
+    private String claimMode;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private Venue venue;
+    private Section section;
+    private Event event;
+    private long[] seatIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application-jmh.yml points at H2 and overrides application.yml, which builder default
+        // properties would not; the claim mode is passed as an argument so it wins too
+        context = new SpringApplicationBuilder(MyseatApplication.class)
+                .profiles("jmh")
+                .run("--booking.claim-mode=" + claimMode);
+        bookingService = context.getBean(BookingService.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        CatalogService catalogService = context.getBean(CatalogService.class);
+        venue = catalogService.createVenue(new CreateVenueRequest("Bench Arena", "Nowhere"));
+        section = catalogService.createSection(new CreateSectionRequest("FLOOR", 2500.0, ROWS, COLUMNS, venue.getId()));
+        event = catalogService.createEvent(new CreateEventRequest(
+                "Bench Night", null, null, LocalDateTime.now().plusDays(1).toString(), venue.getId(), null));
+        seatIds = catalogService.getSeatsForEvent(event.getId()).stream()
+                .filter(seat -> seat.sectionId().equals(section.getId()))
+                .mapToLong(SeatView::id)
+                .sorted()
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void claimAndRollBack() {
+        int first = ThreadLocalRandom.current().nextInt(seatIds.length - 4);
+        CreateBookingRequest request = new CreateBookingRequest(
+                null, event.getId(), venue.getId(), section.getId(),
+                List.of(seatIds[first], seatIds[first + 1], seatIds[first + 2], seatIds[first + 3]), null,
+                "Bench", "bench@myseat.test", "CARD", "ref-bench");
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                bookingService.createBooking(request);
+                entityManager.flush();
+                status.setRollbackOnly();
+            });
+        } catch (RuntimeException conflict) {
+            // another thread holds one of the seats
+        }
+    }
+}
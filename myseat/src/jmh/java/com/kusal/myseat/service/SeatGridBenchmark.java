@@ -0,0 +1,68 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.entity.Seat;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.repository.SeatBulkInserter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat grid generation for a new section. {@code generate} builds one entity per cell, as
+ * {@code createSection} used to before saving them row by row; {@code bulkInsert} is the
+ * current path, batched JDBC inserts through {@link SeatBulkInserter}, against H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeatGridBenchmark {
+
+    @Param({"10x10", "50x100", "200x300"})
+    private String grid;
+
+    private int rows;
+    private int columns;
+    private JdbcTemplate jdbcTemplate;
+    private SeatBulkInserter seatBulkInserter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] dimensions = grid.split("x");
+        rows = Integer.parseInt(dimensions[0]);
+        columns = Integer.parseInt(dimensions[1]);
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:seat-grid;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("create table if not exists seat (id bigint generated by default as identity primary key, " +
+                "row_number integer, column_number integer, status varchar(20), version bigint, section_id bigint)");
+        seatBulkInserter = new SeatBulkInserter(jdbcTemplate, 5000);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clear() {
+        jdbcTemplate.execute("truncate table seat");
+    }
+
+    @Benchmark
+    public List<Seat> generate() {
+        Section section = Section.builder().id(1L).build();
+        return SeatGrids.generate(section, rows, columns);
+    }
+
+    @Benchmark
+    public int bulkInsert() {
+        return seatBulkInserter.insertGrid(1L, rows, columns);
+    }
+}
@@ -0,0 +1,39 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Seat;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds in-memory seat grids for benchmark fixtures.
+ */
+final class SeatGrids {
+
+    private SeatGrids() {
+    }
+
+    static List<Seat> generate(Section section, int rows, int columns) {
+        List<Seat> seats = new ArrayList<>(rows * columns);
+        for (int row = 1; row <= rows; row++) {
+            for (int col = 1; col <= columns; col++) {
+                seats.add(Seat.builder()
+                        .rowNumber(row)
+                        .columnNumber(col)
+                        .status(SeatStatus.AVAILABLE)
+                        .section(section)
+                        .build());
+            }
+        }
+        return seats;
+    }
+
+    static List<SeatView> views(List<Seat> seats) {
+        return seats.stream()
+                .map(seat -> new SeatView(seat.getId(), seat.getSection().getId(), seat.getRowNumber(), seat.getColumnNumber(), seat.getStatus()))
+                .toList();
+    }
+}
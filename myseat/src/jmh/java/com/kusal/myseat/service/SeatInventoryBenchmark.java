@@ -0,0 +1,56 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.entity.Seat;
+import com.kusal.myseat.entity.Section;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory claim and release of four adjacent seats in a 60k-seat section, the work the
+ * inventory does in place of a seat read and version-checked save. {@link SeatClaimJpaBenchmark}
+ * measures that database claim for the same section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SeatInventoryBenchmark {
+
+    private static final int ROWS = 200;
+    private static final int COLUMNS = 300;
+
+    private SeatInventory.SectionGrid grid;
+
+    @Setup
+    public void setUp() {
+        Section section = Section.builder().id(1L).totalRows(ROWS).totalColumns(COLUMNS).build();
+        List<Seat> seats = SeatGrids.generate(section, ROWS, COLUMNS);
+        long id = 1;
+        for (Seat seat : seats) {
+            seat.setId(id++);
+        }
+        grid = new SeatInventory.SectionGrid(section, SeatGrids.views(seats));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void reserveAndRelease() {
+        long first = ThreadLocalRandom.current().nextLong(1, ROWS * COLUMNS - 4);
+        List<Long> seatIds = List.of(first, first + 1, first + 2, first + 3);
+        try {
+            grid.reserve(seatIds);
+            grid.set(seatIds, (byte) 0);
+        } catch (RuntimeException conflict) {
+            // another thread holds one of the seats
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.kusal.myseat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kusal.myseat.dto.CompactSeatMap;
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Seat;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes one section of the given size as the per-seat list, the compact JSON map and the
+ * binary map. Each benchmark also reports its payload size as a {@code payloadBytes} secondary
+ * result, so sizes land in the JSON results next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeatMapSerializationBenchmark {
+
+    private static final int COLUMNS = 100;
+
+    @Param({"1000", "10000", "100000"})
+    private int seatCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Section section;
+    private List<Seat> seats;
+    private List<SeatView> seatViews;
+
+    /**
+     * Size of the payload a benchmark produced. JMH reports an events counter as its value at the
+     * end of the iteration, so each call sets it to the payload size instead of adding to it.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            payloadBytes = 0;
+        }
+
+        byte[] record(byte[] payload) {
+            payloadBytes = payload.length;
+            return payload;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        section = Section.builder()
+                .id(1L)
+                .name("FLOOR")
+                .price(2500.0)
+                .totalRows(seatCount / COLUMNS)
+                .totalColumns(COLUMNS)
+                .build();
+
+        seats = SeatGrids.generate(section, seatCount / COLUMNS, COLUMNS);
+        Random random = new Random(7);
+        long id = 1;
+        for (Seat seat : seats) {
+            seat.setId(id++);
+            // roughly a third of the house sold in blocks of ten
+            if (seat.getColumnNumber() % 30 < 10 && random.nextBoolean()) {
+                seat.setStatus(SeatStatus.BOOKED);
+            }
+        }
+        seatViews = SeatGrids.views(seats);
+    }
+
+    @Benchmark
+    public byte[] seatViewList(Payload payload) throws JsonProcessingException {
+        return payload.record(objectMapper.writeValueAsBytes(seatViews));
+    }
+
+    @Benchmark
+    public byte[] compactJson(Payload payload) throws JsonProcessingException {
+        CompactSeatMap map = new CompactSeatMap(1L, List.of(SeatStatus.values()), List.of(SeatMapEncoder.encode(section, seatViews)));
+        return payload.record(objectMapper.writeValueAsBytes(map));
+    }
+
+    @Benchmark
+    public byte[] compactBinary(Payload payload) {
+        return payload.record(SeatMapEncoder.toBinary(List.of(SeatMapEncoder.encode(section, seatViews))));
+    }
+}
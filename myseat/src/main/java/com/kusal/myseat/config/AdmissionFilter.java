@@ -0,0 +1,80 @@
+package com.kusal.myseat.config;
+
+import com.kusal.myseat.entity.User;
+import com.kusal.myseat.service.AdmissionQueue;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps callers queued in an event's waiting room away from the seat map and booking endpoints.
+ * Seat-map paths carry the event id, so they are checked here in full. A booking body is not read
+ * here; the filter only records which event the caller's ticket admits them to, and
+ * {@link AdmissionQueue#checkAdmitted} compares it with the booked event.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+    public static final String ADMITTED_EVENT_ATTRIBUTE = "com.kusal.myseat.config.AdmissionFilter.admittedEvent";
+
+    private static final Pattern SEAT_MAP_PATH = Pattern.compile("^/api/events/(\\d+)/seats(/.*)?$");
+
+    private final AdmissionQueue admissionQueue;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionQueue.hasOpenRooms();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = request.getHeader(QUEUE_TOKEN_HEADER);
+
+        if (HttpMethod.POST.matches(request.getMethod()) && "/api/bookings".equals(request.getRequestURI())) {
+            AdmissionQueue.Ticket ticket = admissionQueue.admitted(token, currentUserEmail());
+            if (ticket != null) {
+                request.setAttribute(ADMITTED_EVENT_ATTRIBUTE, ticket.eventId());
+            }
+        } else if (HttpMethod.GET.matches(request.getMethod())) {
+            Matcher matcher = SEAT_MAP_PATH.matcher(request.getRequestURI());
+            if (matcher.matches()) {
+                Long eventId = Long.valueOf(matcher.group(1));
+                if (admissionQueue.isOpen(eventId)) {
+                    AdmissionQueue.Ticket ticket = admissionQueue.admitted(token, currentUserEmail());
+                    if (ticket == null || !ticket.eventId().equals(eventId)) {
+                        reject(response);
+                        return;
+                    }
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String currentUserEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getEmail();
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.sendError(HttpServletResponse.SC_FORBIDDEN, "Not admitted from the waiting room yet");
+    }
+}
@@ -0,0 +1,46 @@
+package com.kusal.myseat.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class ConnectionPoolLimitFilter extends OncePerRequestFilter {
+
+    private final ConnectionPoolLimiter connectionPoolLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            connectionPoolLimiter.acquire();
+        } catch (ResponseStatusException ex) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(ex.getStatusCode().value(), ex.getReason());
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            connectionPoolLimiter.release();
+        }
+    }
+}
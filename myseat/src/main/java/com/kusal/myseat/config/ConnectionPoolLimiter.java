@@ -0,0 +1,58 @@
+package com.kusal.myseat.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many requests run database work at once when requests are served on virtual threads.
+ * Platform thread pools bound this implicitly; with a virtual thread per request nothing does,
+ * and thousands of threads would otherwise queue inside Hikari until its connection timeout.
+ * Waiting here is cheap for a virtual thread and fails fast with a 503 instead.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionPoolLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConnectionPoolLimiter(
+            @Value("${booking.db-concurrency.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${booking.db-concurrency.acquire-timeout-millis:2000}") long acquireTimeoutMillis
+    ) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public <T> T call(Supplier<T> work) {
+        acquire();
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry");
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+}
@@ -2,16 +2,16 @@ package com.kusal.myseat.config;
 
 import com.kusal.myseat.entity.Event;
 import com.kusal.myseat.entity.Role;
-import com.kusal.myseat.entity.Seat;
-import com.kusal.myseat.entity.SeatStatus;
 import com.kusal.myseat.entity.Section;
 import com.kusal.myseat.entity.User;
 import com.kusal.myseat.entity.Venue;
 import com.kusal.myseat.repository.EventRepository;
+import com.kusal.myseat.repository.SeatBulkInserter;
 import com.kusal.myseat.repository.SeatRepository;
 import com.kusal.myseat.repository.SectionRepository;
 import com.kusal.myseat.repository.UserRepository;
 import com.kusal.myseat.repository.VenueRepository;
+import com.kusal.myseat.service.EventSeatProvisioner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,7 +19,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -36,6 +35,8 @@ public class DataSeeder implements CommandLineRunner {
     private final EventRepository eventRepository;
     private final SectionRepository sectionRepository;
     private final SeatRepository seatRepository;
+    private final SeatBulkInserter seatBulkInserter;
+    private final EventSeatProvisioner eventSeatProvisioner;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -189,7 +190,7 @@ public class DataSeeder implements CommandLineRunner {
     }
 
     private void seedSeatsForSectionIfMissing(Section section) {
-        if (seatRepository.countBySectionId(section.getId()) > 0) {
+        if (eventSeatProvisioner.isSparse() || seatRepository.countBySectionId(section.getId()) > 0) {
             return;
         }
 
@@ -197,8 +198,7 @@ public class DataSeeder implements CommandLineRunner {
             return;
         }
 
-        List<Seat> seats = generateSeats(section, section.getTotalRows(), section.getTotalColumns());
-        seatRepository.saveAll(seats);
+        seatBulkInserter.insertGrid(section.getId(), section.getTotalRows(), section.getTotalColumns());
     }
 
     private boolean isBlank(String value) {
@@ -218,19 +218,4 @@ public class DataSeeder implements CommandLineRunner {
                         .venue(venue)
                         .build()));
     }
-
-    private List<Seat> generateSeats(Section section, int rows, int cols) {
-        List<Seat> seats = new ArrayList<>();
-        for (int row = 1; row <= rows; row++) {
-            for (int col = 1; col <= cols; col++) {
-                seats.add(Seat.builder()
-                        .rowNumber(row)
-                        .columnNumber(col)
-                        .status(SeatStatus.AVAILABLE)
-                        .section(section)
-                        .build());
-            }
-        }
-        return seats;
-    }
 }
@@ -1,15 +1,19 @@
 package com.kusal.myseat.config;
 
+import com.kusal.myseat.entity.Role;
 import com.kusal.myseat.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -17,14 +21,16 @@ import java.util.Map;
 @Service
 public class JwtService {
 
-    private final String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long expirationMillis;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration-millis}") long expirationMillis
     ) {
-        this.secret = secret;
+        this.signingKey = buildSigningKey(secret);
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
         this.expirationMillis = expirationMillis;
     }
 
@@ -37,37 +43,53 @@ public class JwtService {
                 .claims(Map.of("role", user.getRole().name(), "userId", user.getId()))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
+    /**
+     * Signs a waiting-room ticket. It carries no subject, so it can never authenticate a request.
+     */
+    public String generateQueueToken(Long eventId, long room, long position, String holder, Duration ttl) {
+        Instant now = Instant.now();
 
-    public boolean isTokenValid(String token, User user) {
-        String username = extractUsername(token);
-        return username.equals(user.getEmail()) && !isTokenExpired(token);
+        return Jwts.builder()
+                .claims(Map.of("queueEvent", eventId, "queueRoom", room, "queuePosition", position, "holder", holder))
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(signingKey)
+                .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractAllClaims(token).getExpiration();
-        return expiration.before(new Date());
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     */
+    public Claims parseToken(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Builds a principal from the claims alone, without loading the user. The password is not
+     * available on the returned user.
+     */
+    public User toPrincipal(Claims claims) {
+        Object userId = claims.get("userId");
+        Object role = claims.get("role");
+        if (!(userId instanceof Number) || role == null) {
+            return null;
+        }
+        return User.builder()
+                .id(((Number) userId).longValue())
+                .email(claims.getSubject())
+                .role(Role.valueOf(role.toString()))
+                .build();
     }
 
-    private SecretKey getSigningKey() {
+    private static SecretKey buildSigningKey(String secret) {
         byte[] keyBytes;
         try {
             keyBytes = Decoders.BASE64.decode(secret);
-        } catch (IllegalArgumentException ex) {
+        } catch (DecodingException | IllegalArgumentException ex) {
             keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         }
         return Keys.hmacShaKeyFor(keyBytes);
@@ -0,0 +1,185 @@
+package com.kusal.myseat.config;
+
+import com.kusal.myseat.config.RateLimitProperties.GroupLimits;
+import com.kusal.myseat.config.RateLimitProperties.Limit;
+import com.kusal.myseat.config.RateLimitProperties.RouteGroup;
+import com.kusal.myseat.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-IP and per-principal rate limiting, run right after {@link JwtAuthenticationFilter} so the
+ * principal is known and login floods are turned away before BCrypt runs. Buckets follow GCRA:
+ * each is a single theoretical-arrival timestamp updated by CAS, so there are no locks to contend
+ * on. A bucket whose timestamp is in the past is full again and can be dropped without changing
+ * any decision, which is what the idle eviction relies on.
+ *
+ * <p>Buckets live in one map per route group and key, keyed by the bare address or principal, so
+ * a request builds no key strings. The address is {@link HttpServletRequest#getRemoteAddr()}, which
+ * is the client only when {@code server.forward-headers-strategy} lets a trusted proxy set it.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final Map<RouteGroup, GroupBuckets> bucketsByGroup = new EnumMap<>(RouteGroup.class);
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        if (properties.groups() != null) {
+            properties.groups().forEach((group, limits) -> bucketsByGroup.put(group, new GroupBuckets(limits)));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || bucketsByGroup.isEmpty() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        GroupBuckets buckets = bucketsByGroup.get(routeGroup(request.getMethod(), request.getRequestURI()));
+
+        if (buckets != null) {
+            long now = System.nanoTime();
+            long waitNanos = buckets.byIp.acquire(request.getRemoteAddr(), now);
+            String principal = currentPrincipal();
+            if (waitNanos == 0 && principal != null) {
+                waitNanos = buckets.byPrincipal.acquire(principal, now);
+            }
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, please retry later");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-millis:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - properties.idleTimeout().toNanos();
+        for (GroupBuckets buckets : bucketsByGroup.values()) {
+            buckets.byIp.evictIdle(cutoff);
+            buckets.byPrincipal.evictIdle(cutoff);
+        }
+    }
+
+    /**
+     * Mirrors the route groups in {@link SecurityConfig}.
+     */
+    static RouteGroup routeGroup(String method, String uri) {
+        if (uri.startsWith("/api/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        if (HttpMethod.POST.matches(method) && (uri.equals("/api/bookings") || uri.equals("/api/bookings/confirm"))) {
+            return RouteGroup.BOOKING;
+        }
+        if (HttpMethod.POST.matches(method) && (uri.equals("/api/events") || uri.equals("/api/venues")
+                || uri.equals("/api/sections") || uri.equals("/api/users"))) {
+            return RouteGroup.ADMIN;
+        }
+        if ((HttpMethod.PUT.matches(method) || HttpMethod.DELETE.matches(method)) && uri.matches("^/api/events/[^/]+/queue$")) {
+            return RouteGroup.ADMIN;
+        }
+        if (HttpMethod.GET.matches(method) && (uri.startsWith("/api/events") || uri.startsWith("/api/venues"))) {
+            return RouteGroup.PUBLIC_READ;
+        }
+        return RouteGroup.OTHER;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getEmail();
+        }
+        return null;
+    }
+
+    private static final class GroupBuckets {
+
+        private final KeyedBuckets byIp;
+        private final KeyedBuckets byPrincipal;
+
+        GroupBuckets(GroupLimits limits) {
+            this.byIp = new KeyedBuckets(limits.ip());
+            this.byPrincipal = new KeyedBuckets(limits.principal());
+        }
+    }
+
+    /**
+     * The buckets of one route group and key kind, with the limit's interval worked out once.
+     */
+    private static final class KeyedBuckets {
+
+        private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+        private final long intervalNanos;
+        private final long capacityNanos;
+
+        KeyedBuckets(Limit limit) {
+            this.intervalNanos = limit == null ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / limit.perSecond());
+            this.capacityNanos = limit == null ? 0 : intervalNanos * limit.burst();
+        }
+
+        long acquire(String key, long now) {
+            if (intervalNanos == 0) {
+                return 0;
+            }
+            return buckets.computeIfAbsent(key, k -> new Bucket(now)).tryAcquire(now, intervalNanos, capacityNanos);
+        }
+
+        void evictIdle(long cutoff) {
+            buckets.values().removeIf(bucket -> bucket.idleSince(cutoff));
+        }
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * Returns 0 if the request conforms, otherwise how long to wait before it would.
+         */
+        long tryAcquire(long now, long intervalNanos, long capacityNanos) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + intervalNanos;
+                long excess = next - now - capacityNanos;
+                if (excess > 0) {
+                    return excess;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean idleSince(long cutoff) {
+            return theoreticalArrival.get() - cutoff < 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.kusal.myseat.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token-bucket limits per route group. A group without an {@code ip} or {@code principal} entry
+ * is not limited on that key.
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Duration idleTimeout,
+        Map<RouteGroup, GroupLimits> groups
+) {
+
+    public enum RouteGroup {
+        AUTH,
+        ADMIN,
+        BOOKING,
+        PUBLIC_READ,
+        OTHER
+    }
+
+    public record GroupLimits(Limit ip, Limit principal) {
+    }
+
+    public record Limit(double perSecond, int burst) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.kusal.myseat.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Records the size of seat-map response bodies by counting bytes as they are written, without
+ * buffering the response.
+ */
+@Component
+public class SeatMapPayloadMetricsFilter extends OncePerRequestFilter {
+
+    private static final Pattern SEAT_MAP_PATH = Pattern.compile("^/api/events/[^/]+/seats(/compact)?$");
+
+    private final DistributionSummary listPayloadSize;
+    private final DistributionSummary compactPayloadSize;
+    private final DistributionSummary binaryPayloadSize;
+
+    public SeatMapPayloadMetricsFilter(MeterRegistry meterRegistry) {
+        this.listPayloadSize = payloadSize(meterRegistry, "list");
+        this.compactPayloadSize = payloadSize(meterRegistry, "compact");
+        this.binaryPayloadSize = payloadSize(meterRegistry, "binary");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !SEAT_MAP_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        filterChain.doFilter(request, countingResponse);
+
+        if (countingResponse.getStatus() != HttpStatus.OK.value()) {
+            return;
+        }
+        DistributionSummary payloadSize = listPayloadSize;
+        if (request.getRequestURI().endsWith("/compact")) {
+            payloadSize = String.valueOf(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE)
+                    ? compactPayloadSize
+                    : binaryPayloadSize;
+        }
+        payloadSize.record(countingResponse.bytesWritten());
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry meterRegistry, String format) {
+        return DistributionSummary.builder("seatmap.payload.size")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        long bytesWritten() {
+            return outputStream == null ? 0 : outputStream.count;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
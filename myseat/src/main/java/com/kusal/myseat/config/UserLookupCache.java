@@ -0,0 +1,38 @@
+package com.kusal.myseat.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kusal.myseat.entity.User;
+import com.kusal.myseat.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of users resolved during authentication, so a burst of requests from one user
+ * costs a single lookup per TTL instead of one per request.
+ */
+@Component
+public class UserLookupCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<User>> users;
+
+    public UserLookupCache(
+            UserRepository userRepository,
+            @Value("${jwt.user-cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${jwt.user-cache.maximum-size:10000}") long maximumSize
+    ) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public User findByEmail(String email) {
+        return users.get(email, userRepository::findByEmail).orElse(null);
+    }
+}
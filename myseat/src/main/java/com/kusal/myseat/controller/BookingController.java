@@ -1,11 +1,18 @@
 package com.kusal.myseat.controller;
 
+import com.kusal.myseat.config.AdmissionFilter;
 import com.kusal.myseat.dto.BookingResponse;
 import com.kusal.myseat.dto.CreateBookingRequest;
 import com.kusal.myseat.dto.ConfirmBookingRequest;
+import com.kusal.myseat.entity.User;
+import com.kusal.myseat.service.AdmissionQueue;
+import com.kusal.myseat.service.BookingMetrics;
+import com.kusal.myseat.service.BookingSequencer;
 import com.kusal.myseat.service.BookingService;
+import com.kusal.myseat.service.IdempotencyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -13,14 +20,36 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final BookingService bookingService;
+    private final BookingSequencer bookingSequencer;
+    private final BookingMetrics bookingMetrics;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionQueue admissionQueue;
 
     @PostMapping
-    public BookingResponse createBooking(@Valid @RequestBody CreateBookingRequest request) {
-        return bookingService.createBooking(request);
+    public BookingResponse createBooking(
+            @Valid @RequestBody CreateBookingRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestAttribute(value = AdmissionFilter.ADMITTED_EVENT_ATTRIBUTE, required = false) Long admittedEventId,
+            @AuthenticationPrincipal User user
+    ) {
+        admissionQueue.checkAdmitted(request.eventId(), admittedEventId);
+        return idempotencyStore.execute(scope("create", user), idempotencyKey, request,
+                () -> bookingMetrics.recordCreate(() -> bookingSequencer.createBooking(request)));
     }
     @PostMapping("/confirm")
-    public BookingResponse confirmBooking(@Valid @RequestBody ConfirmBookingRequest request) {
-        return bookingService.confirmBooking(request);
+    public BookingResponse confirmBooking(
+            @Valid @RequestBody ConfirmBookingRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @AuthenticationPrincipal User user
+    ) {
+        return idempotencyStore.execute(scope("confirm", user), idempotencyKey, request,
+                () -> bookingMetrics.recordConfirm(() -> bookingService.confirmBooking(request)));
+    }
+
+    private static String scope(String operation, User user) {
+        return operation + ":" + (user == null ? "anonymous" : user.getEmail());
     }
-}
\ No newline at end of file
+}
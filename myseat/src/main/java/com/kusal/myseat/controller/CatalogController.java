@@ -1,9 +1,12 @@
 package com.kusal.myseat.controller;
 
+import com.kusal.myseat.dto.CompactSeatMap;
 import com.kusal.myseat.dto.CreateEventRequest;
 import com.kusal.myseat.dto.CreateSectionRequest;
 import com.kusal.myseat.dto.CreateUserRequest;
 import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.EventAvailability;
+import com.kusal.myseat.dto.EventPage;
 import com.kusal.myseat.dto.EventView;
 import com.kusal.myseat.dto.EventSectionView;
 import com.kusal.myseat.dto.SeatView;
@@ -12,10 +15,18 @@ import com.kusal.myseat.entity.Section;
 import com.kusal.myseat.entity.User;
 import com.kusal.myseat.entity.Venue;
 import com.kusal.myseat.service.CatalogService;
+import com.kusal.myseat.service.SeatMapEncoder;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -31,8 +42,14 @@ public class CatalogController {
     }
 
     @GetMapping("/events")
-    public List<EventView> getEvents() {
-        return catalogService.getEvents();
+    public EventPage getEvents(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "venueId", required = false) Long venueId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return catalogService.getEvents(from, to, venueId, cursor, limit);
     }
 
     @GetMapping("/events/{eventId}")
@@ -40,6 +57,11 @@ public class CatalogController {
         return catalogService.getEventById(eventId);
     }
 
+    @GetMapping("/events/{eventId}/availability")
+    public EventAvailability getAvailability(@PathVariable("eventId") Long eventId) {
+        return catalogService.getAvailability(eventId);
+    }
+
 
     @GetMapping("/venues/{venueId}/sections")
     public List<EventSectionView> getSectionsForVenue(@PathVariable Long venueId) {
@@ -67,7 +89,38 @@ public class CatalogController {
     }
 
     @GetMapping("/events/{eventId}/seats")
-    public List<SeatView> getSeatsForEvent(@PathVariable("eventId") Long eventId) {
-        return catalogService.getSeatsForEvent(eventId);
+    public ResponseEntity<List<SeatView>> getSeatsForEvent(@PathVariable("eventId") Long eventId, WebRequest webRequest) {
+        String etag = catalogService.getSeatMapETag(eventId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(catalogService.getSeatsForEvent(eventId));
+    }
+
+    @GetMapping(value = "/events/{eventId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatsForEvent(
+            @PathVariable("eventId") Long eventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return catalogService.streamSeatsForEvent(eventId, lastEventId);
+    }
+
+    @GetMapping(value = "/events/{eventId}/seats/compact", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CompactSeatMap> getCompactSeatMap(@PathVariable("eventId") Long eventId, WebRequest webRequest) {
+        String etag = catalogService.getSeatMapETag(eventId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(catalogService.getCompactSeatMap(eventId));
+    }
+
+    @GetMapping(value = "/events/{eventId}/seats/compact", produces = SeatMapEncoder.BINARY_MEDIA_TYPE)
+    public ResponseEntity<byte[]> getBinarySeatMap(@PathVariable("eventId") Long eventId, WebRequest webRequest) {
+        String etag = catalogService.getSeatMapETag(eventId).replaceFirst("\"$", "-bin\"");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        byte[] body = SeatMapEncoder.toBinary(catalogService.getCompactSeatMap(eventId).sections());
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body);
     }
-}
\ No newline at end of file
+}
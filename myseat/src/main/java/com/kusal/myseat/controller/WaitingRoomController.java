@@ -0,0 +1,45 @@
+package com.kusal.myseat.controller;
+
+import com.kusal.myseat.config.AdmissionFilter;
+import com.kusal.myseat.dto.OpenWaitingRoomRequest;
+import com.kusal.myseat.dto.QueueStatusResponse;
+import com.kusal.myseat.entity.User;
+import com.kusal.myseat.service.AdmissionQueue;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final AdmissionQueue admissionQueue;
+
+    @PutMapping
+    public ResponseEntity<Void> open(@PathVariable Long eventId, @Valid @RequestBody OpenWaitingRoomRequest request) {
+        admissionQueue.open(eventId, request.admitPerSecond());
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> close(@PathVariable Long eventId) {
+        admissionQueue.close(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/join")
+    public QueueStatusResponse join(@PathVariable Long eventId, @AuthenticationPrincipal User user) {
+        return admissionQueue.join(eventId, user);
+    }
+
+    @GetMapping("/status")
+    public QueueStatusResponse status(
+            @PathVariable Long eventId,
+            @RequestHeader(AdmissionFilter.QUEUE_TOKEN_HEADER) String token
+    ) {
+        return admissionQueue.status(eventId, token);
+    }
+}
@@ -0,0 +1,12 @@
+package com.kusal.myseat.dto;
+
+import com.kusal.myseat.entity.SeatStatus;
+
+import java.util.List;
+
+public record CompactSeatMap(
+        Long eventId,
+        List<SeatStatus> statuses,
+        List<SectionSeatMap> sections
+) {
+}
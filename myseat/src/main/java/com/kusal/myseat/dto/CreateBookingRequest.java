@@ -1,18 +1,23 @@
 package com.kusal.myseat.dto;
 
 import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.util.List;
 
+/**
+ * Either {@code seatIds} for explicitly picked seats, or {@code partySize} to let the server pick
+ * the best adjacent block in the section.
+ */
 public record CreateBookingRequest(
         Long userId,
         @NotNull Long eventId,
         @NotNull Long venueId,
         @NotNull Long sectionId,
-        @NotEmpty List<Long> seatIds,
+        List<Long> seatIds,
+        @Positive Integer partySize,
         @NotBlank String payerName,
         @NotBlank @Email String payerEmail,
         @NotBlank String paymentMethod,
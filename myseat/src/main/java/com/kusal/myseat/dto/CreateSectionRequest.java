@@ -1,5 +1,6 @@
 package com.kusal.myseat.dto;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,8 +8,8 @@ import jakarta.validation.constraints.NotNull;
 public record CreateSectionRequest(
         @NotBlank String name,
         @NotNull @Min(0) Double price,
-        @NotNull @Min(1) Integer totalRows,
-        @NotNull @Min(1) Integer totalColumns,
+        @NotNull @Min(1) @Max(65535) Integer totalRows,
+        @NotNull @Min(1) @Max(65535) Integer totalColumns,
         @NotNull Long venueId
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.kusal.myseat.dto;
+
+import java.util.List;
+
+public record EventAvailability(
+        Long eventId,
+        long available,
+        long reserved,
+        long booked,
+        List<SectionAvailability> sections
+) {
+}
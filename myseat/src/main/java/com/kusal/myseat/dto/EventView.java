@@ -10,6 +10,24 @@ public record EventView(
         LocalDateTime eventDate,
         Long venueId,
         String venueName,
-        String venueAddress
+        String venueAddress,
+        EventAvailability availability
 ) {
+
+    public EventView(
+            Long id,
+            String name,
+            String description,
+            String imageUrl,
+            LocalDateTime eventDate,
+            Long venueId,
+            String venueName,
+            String venueAddress
+    ) {
+        this(id, name, description, imageUrl, eventDate, venueId, venueName, venueAddress, null);
+    }
+
+    public EventView withAvailability(EventAvailability availability) {
+        return new EventView(id, name, description, imageUrl, eventDate, venueId, venueName, venueAddress, availability);
+    }
 }
\ No newline at end of file
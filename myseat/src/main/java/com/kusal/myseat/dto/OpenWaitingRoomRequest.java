@@ -0,0 +1,9 @@
+package com.kusal.myseat.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record OpenWaitingRoomRequest(
+        @NotNull @Positive Integer admitPerSecond
+) {
+}
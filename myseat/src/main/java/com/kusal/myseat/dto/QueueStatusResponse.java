@@ -0,0 +1,10 @@
+package com.kusal.myseat.dto;
+
+public record QueueStatusResponse(
+        Long eventId,
+        String token,
+        long position,
+        long ahead,
+        boolean admitted
+) {
+}
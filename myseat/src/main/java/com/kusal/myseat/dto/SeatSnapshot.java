@@ -0,0 +1,9 @@
+package com.kusal.myseat.dto;
+
+import java.util.List;
+
+public record SeatSnapshot(
+        long sequence,
+        List<SeatView> seats
+) {
+}
@@ -0,0 +1,10 @@
+package com.kusal.myseat.dto;
+
+import com.kusal.myseat.entity.SeatStatus;
+
+public record SeatStatusDelta(
+        Long seatId,
+        SeatStatus oldStatus,
+        SeatStatus newStatus
+) {
+}
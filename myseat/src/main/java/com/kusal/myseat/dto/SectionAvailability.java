@@ -0,0 +1,10 @@
+package com.kusal.myseat.dto;
+
+public record SectionAvailability(
+        Long sectionId,
+        String sectionName,
+        long available,
+        long reserved,
+        long booked
+) {
+}
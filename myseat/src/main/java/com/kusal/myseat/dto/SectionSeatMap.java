@@ -0,0 +1,22 @@
+package com.kusal.myseat.dto;
+
+import java.util.List;
+
+/**
+ * Seat map of one section in row-major order. Positions are implicit: the n-th cell is row
+ * {@code n / totalColumns + 1}, column {@code n % totalColumns + 1}.
+ *
+ * @param seatIdRuns pairs of (first seat id, run length); a first id of 0 marks cells without a seat
+ * @param statusRuns pairs of (status code, run length); codes index {@link CompactSeatMap#statuses()} and
+ *                   a code equal to its size marks a cell without a seat
+ */
+public record SectionSeatMap(
+        Long sectionId,
+        String sectionName,
+        Double price,
+        Integer totalRows,
+        Integer totalColumns,
+        List<Long> seatIdRuns,
+        List<Integer> statusRuns
+) {
+}
@@ -38,4 +38,8 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id")
+    private Event event;
 }
\ No newline at end of file
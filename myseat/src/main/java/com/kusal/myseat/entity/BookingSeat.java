@@ -22,4 +22,14 @@ public class BookingSeat {
     @ManyToOne
     @JoinColumn(name = "seat_id")
     private Seat seat;
+
+    /**
+     * Position of the seat when seats are stored sparsely and {@link #seat} is null.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id")
+    private Section section;
+
+    private Integer rowNumber;
+    private Integer columnNumber;
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_date_id", columnList = "event_date, id"),
+        @Index(name = "idx_event_venue_date_id", columnList = "venue_id, event_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
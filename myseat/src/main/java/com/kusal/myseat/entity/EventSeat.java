@@ -0,0 +1,51 @@
+package com.kusal.myseat.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Availability of one seat for one event. Row and column are copied from the seat so seat maps
+ * and the inventory can be built from this table alone. With sparse seat storage there is no
+ * {@link Seat} row: only held and booked seats are stored, keyed by section, row and column.
+ */
+@Entity
+@Table(
+        name = "event_seat",
+        indexes = @Index(name = "idx_event_seat_event_section_status", columnList = "event_id, section_id, status"),
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_event_seat_event_seat", columnNames = {"event_id", "seat_id"}),
+                @UniqueConstraint(name = "uk_event_seat_event_cell", columnNames = {"event_id", "section_id", "row_number", "column_number"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSeat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "section_id")
+    private Section section;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_id")
+    private Seat seat;
+
+    private Integer rowNumber;
+    private Integer columnNumber;
+
+    @Enumerated(EnumType.STRING)
+    private SeatStatus status;
+
+    @Version
+    private Long version;
+}
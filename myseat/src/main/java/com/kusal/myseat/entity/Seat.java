@@ -18,6 +18,10 @@ public class Seat {
     private Integer rowNumber;
     private Integer columnNumber;
 
+    /**
+     * Venue-wide status from before per-event inventory. Only read to backfill {@link EventSeat}
+     * rows for events created before it; bookings use {@link EventSeat#getStatus()}.
+     */
     @Enumerated(EnumType.STRING)
     private SeatStatus status;
 
@@ -1,5 +1,6 @@
 package com.kusal.myseat.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.*;
@@ -26,6 +27,7 @@ public class Section {
     @ManyToOne
     private Venue venue;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "section")
     private List<Seat> seats;
 
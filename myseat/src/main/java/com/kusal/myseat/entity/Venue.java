@@ -1,5 +1,6 @@
 package com.kusal.myseat.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,6 +20,7 @@ public class Venue {
 
     private String address;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL)
     private List<Section> sections;
 }
@@ -0,0 +1,9 @@
+package com.kusal.myseat.repository;
+
+import java.time.Instant;
+
+public record BookingHold(
+        Long bookingId,
+        Instant expiresAt
+) {
+}
@@ -2,12 +2,53 @@ package com.kusal.myseat.repository;
 
 import com.kusal.myseat.entity.Booking;
 import com.kusal.myseat.entity.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByStatusAndExpiresAtBefore(BookingStatus status, Instant referenceTime);
-}
\ No newline at end of file
+    @Query("select b.id from Booking b where b.status = :status and b.expiresAt < :referenceTime order by b.expiresAt")
+    List<Long> findIdsByStatusAndExpiresAtBefore(
+            @Param("status") BookingStatus status,
+            @Param("referenceTime") Instant referenceTime,
+            Pageable pageable
+    );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(@Param("bookingId") Long bookingId);
+
+    /**
+     * Locks the given bookings that are still in the given status, in id order so two sweeps
+     * cannot deadlock. Selects ids only, so no event or user is loaded per booking.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Booking b where b.id in :bookingIds and b.status = :status order by b.id")
+    List<Long> lockIdsByIdInAndStatus(
+            @Param("bookingIds") Collection<Long> bookingIds,
+            @Param("status") BookingStatus status
+    );
+
+    @Query("select new com.kusal.myseat.repository.BookingHold(b.id, b.expiresAt) from Booking b " +
+            "where b.status = :status and b.id > :afterId order by b.id")
+    List<BookingHold> findHoldsAfter(
+            @Param("status") BookingStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("update Booking b set b.status = com.kusal.myseat.entity.BookingStatus.EXPIRED " +
+            "where b.id in :bookingIds and b.status = com.kusal.myseat.entity.BookingStatus.RESERVED")
+    int expireReserved(@Param("bookingIds") Collection<Long> bookingIds);
+}
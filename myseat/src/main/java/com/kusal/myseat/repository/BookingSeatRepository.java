@@ -2,9 +2,16 @@ package com.kusal.myseat.repository;
 
 import com.kusal.myseat.entity.BookingSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long> {
-    List<BookingSeat> findByBookingId(Long bookingId);
-}
\ No newline at end of file
+    /**
+     * A booking's seats with the seat, or the section of a sparse seat, fetched in the same select.
+     */
+    @Query("select bs from BookingSeat bs left join fetch bs.seat s left join fetch s.section " +
+            "left join fetch bs.section where bs.booking.id = :bookingId")
+    List<BookingSeat> findWithSeatsByBookingId(@Param("bookingId") Long bookingId);
+}
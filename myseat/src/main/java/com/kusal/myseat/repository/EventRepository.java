@@ -1,10 +1,44 @@
 package com.kusal.myseat.repository;
 
+import com.kusal.myseat.dto.EventView;
 import com.kusal.myseat.entity.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Keyset pages of events ordered by date then id. The {@code eventDate >= :afterDate} conjunct is
+ * implied by the cursor predicate but spelled out so the planner can range-scan the
+ * {@code (event_date, id)} index instead of filtering an OR.
+ */
 public interface EventRepository extends JpaRepository<Event, Long> {
-	List<Event> findAllByOrderByEventDateAsc();
+
+	@Query("select new com.kusal.myseat.dto.EventView(e.id, e.name, e.description, e.imageUrl, e.eventDate, " +
+			"v.id, v.name, v.address) from Event e join e.venue v " +
+			"where e.eventDate >= :afterDate and e.eventDate <= :until " +
+			"and (e.eventDate > :afterDate or (e.eventDate = :afterDate and e.id > :afterId)) " +
+			"order by e.eventDate, e.id")
+	List<EventView> findViewsAfter(
+			@Param("afterDate") LocalDateTime afterDate,
+			@Param("afterId") Long afterId,
+			@Param("until") LocalDateTime until,
+			Pageable pageable
+	);
+
+	@Query("select new com.kusal.myseat.dto.EventView(e.id, e.name, e.description, e.imageUrl, e.eventDate, " +
+			"v.id, v.name, v.address) from Event e join e.venue v " +
+			"where v.id = :venueId and e.eventDate >= :afterDate and e.eventDate <= :until " +
+			"and (e.eventDate > :afterDate or (e.eventDate = :afterDate and e.id > :afterId)) " +
+			"order by e.eventDate, e.id")
+	List<EventView> findViewsAtVenueAfter(
+			@Param("venueId") Long venueId,
+			@Param("afterDate") LocalDateTime afterDate,
+			@Param("afterId") Long afterId,
+			@Param("until") LocalDateTime until,
+			Pageable pageable
+	);
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.kusal.myseat.repository;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.EventSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
+
+    @Query("select new com.kusal.myseat.dto.SeatView(es.seat.id, es.section.id, es.rowNumber, es.columnNumber, es.status) " +
+            "from EventSeat es where es.event.id = :eventId")
+    List<SeatView> findSeatViewsByEventId(@Param("eventId") Long eventId);
+
+    @Query("select new com.kusal.myseat.dto.SeatView(es.seat.id, es.section.id, es.rowNumber, es.columnNumber, es.status) " +
+            "from EventSeat es where es.event.id = :eventId and es.section.id = :sectionId")
+    List<SeatView> findSeatViewsByEventIdAndSectionId(@Param("eventId") Long eventId, @Param("sectionId") Long sectionId);
+
+    List<EventSeat> findByEventIdAndSeatIdIn(Long eventId, Collection<Long> seatIds);
+
+    long countByEventIdAndSectionIdAndSeatIdIn(Long eventId, Long sectionId, Collection<Long> seatIds);
+
+    boolean existsByEventId(Long eventId);
+
+    @Query("select new com.kusal.myseat.repository.SectionStatusCount(es.event.id, es.section.id, es.status, count(es)) " +
+            "from EventSeat es where es.event.id in :eventIds group by es.event.id, es.section.id, es.status")
+    List<SectionStatusCount> countBySectionAndStatus(@Param("eventIds") Collection<Long> eventIds);
+
+    @Query("select new com.kusal.myseat.repository.SeatRef(es.seat.id, es.section.id, es.event.id) " +
+            "from BookingSeat bs join bs.booking b, EventSeat es " +
+            "where b.id in :bookingIds and es.event = b.event and es.seat = bs.seat " +
+            "and es.status = com.kusal.myseat.entity.SeatStatus.RESERVED")
+    List<SeatRef> findReservedSeatRefs(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("update EventSeat es set es.status = com.kusal.myseat.entity.SeatStatus.RESERVED, es.version = es.version + 1 " +
+            "where es.event.id = :eventId and es.section.id = :sectionId and es.seat.id in :seatIds " +
+            "and es.status = com.kusal.myseat.entity.SeatStatus.AVAILABLE")
+    int claimAvailable(
+            @Param("eventId") Long eventId,
+            @Param("sectionId") Long sectionId,
+            @Param("seatIds") Collection<Long> seatIds
+    );
+
+    /**
+     * Stores a held seat of a sparse section unless the cell is already taken. Returns 0 if it is.
+     */
+    @Modifying
+    @Query(value = "insert into event_seat (event_id, section_id, row_number, column_number, status, version) " +
+            "values (:eventId, :sectionId, :rowNumber, :columnNumber, :status, 0) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("eventId") Long eventId,
+            @Param("sectionId") Long sectionId,
+            @Param("rowNumber") int rowNumber,
+            @Param("columnNumber") int columnNumber,
+            @Param("status") String status
+    );
+
+    @Query("select es from BookingSeat bs join bs.booking b, EventSeat es " +
+            "where b.id = :bookingId and es.event = b.event and es.section = bs.section " +
+            "and es.rowNumber = bs.rowNumber and es.columnNumber = bs.columnNumber")
+    List<EventSeat> findCellsByBookingId(@Param("bookingId") Long bookingId);
+
+    @Query("select es from BookingSeat bs join bs.booking b, EventSeat es " +
+            "where b.id in :bookingIds and es.event = b.event and es.section = bs.section " +
+            "and es.rowNumber = bs.rowNumber and es.columnNumber = bs.columnNumber " +
+            "and es.status = com.kusal.myseat.entity.SeatStatus.RESERVED")
+    List<EventSeat> findReservedCells(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Frees held cells of a sparse section by deleting them, skipping any that are no longer held.
+     */
+    @Modifying
+    @Query("delete from EventSeat es where es.id in :ids and es.status = com.kusal.myseat.entity.SeatStatus.RESERVED")
+    int deleteReservedCells(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update EventSeat es set es.status = com.kusal.myseat.entity.SeatStatus.AVAILABLE, es.version = es.version + 1 " +
+            "where es.status = com.kusal.myseat.entity.SeatStatus.RESERVED and exists (" +
+            "select 1 from BookingSeat bs where bs.booking.id in :bookingIds " +
+            "and bs.booking.event = es.event and bs.seat = es.seat)")
+    int releaseReservedSeats(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -0,0 +1,93 @@
+package com.kusal.myseat.repository;
+
+import com.kusal.myseat.entity.SeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Writes a section's seat grid with plain JDBC batches. Seat ids come from the identity column,
+ * which would force Hibernate to insert one row per round trip; here no generated keys are read
+ * back, so each batch goes out in one round trip (and as multi-row inserts with the PostgreSQL
+ * driver's reWriteBatchedInserts). Per-event seat rows are copied from the seat table with
+ * single insert-select statements.
+ */
+@Repository
+public class SeatBulkInserter {
+
+    private static final String INSERT_SEAT =
+            "insert into seat (row_number, column_number, status, version, section_id) values (?, ?, ?, 0, ?)";
+
+    private static final String INSERT_EVENT_SEATS =
+            "insert into event_seat (event_id, section_id, seat_id, row_number, column_number, status, version) " +
+            "select e.id, s.section_id, s.id, s.row_number, s.column_number, %s, 0 " +
+            "from event e join section sec on sec.venue_id = e.venue_id join seat s on s.section_id = sec.id " +
+            "where %s on conflict do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public SeatBulkInserter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${booking.seat-generation.batch-size:5000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Inserts one AVAILABLE seat per cell of a rows x columns grid, in row-major order.
+     */
+    public int insertGrid(Long sectionId, int rows, int columns) {
+        int total = rows * columns;
+        for (int offset = 0; offset < total; offset += batchSize) {
+            int first = offset;
+            int size = Math.min(batchSize, total - offset);
+            jdbcTemplate.batchUpdate(INSERT_SEAT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int cell = first + i;
+                    ps.setInt(1, cell / columns + 1);
+                    ps.setInt(2, cell % columns + 1);
+                    ps.setString(3, SeatStatus.AVAILABLE.name());
+                    ps.setLong(4, sectionId);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        return total;
+    }
+
+    /**
+     * Creates an AVAILABLE row for every seat at the event's venue.
+     */
+    public int insertEventSeats(Long eventId) {
+        return jdbcTemplate.update(INSERT_EVENT_SEATS.formatted("'" + SeatStatus.AVAILABLE.name() + "'", "e.id = ?"), eventId);
+    }
+
+    /**
+     * Creates AVAILABLE rows for a new section in every event at its venue.
+     */
+    public int insertSectionEventSeats(Long sectionId) {
+        return jdbcTemplate.update(INSERT_EVENT_SEATS.formatted("'" + SeatStatus.AVAILABLE.name() + "'", "sec.id = ?"), sectionId);
+    }
+
+    /**
+     * Fills in missing rows for an event created before per-event inventory. Such an event's sales
+     * were recorded on the venue-wide seat status, so sold seats stay BOOKED. Held seats come back
+     * AVAILABLE: their bookings have no event, so nothing could ever confirm or release them.
+     */
+    public int backfillEventSeats(Long eventId) {
+        String status = "case when s.status = '" + SeatStatus.BOOKED.name() + "' then '" + SeatStatus.BOOKED.name() +
+                "' else '" + SeatStatus.AVAILABLE.name() + "' end";
+        return jdbcTemplate.update(INSERT_EVENT_SEATS.formatted(status, "e.id = ?"), eventId);
+    }
+}
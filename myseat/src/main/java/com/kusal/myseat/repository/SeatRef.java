@@ -0,0 +1,8 @@
+package com.kusal.myseat.repository;
+
+public record SeatRef(
+        Long seatId,
+        Long sectionId,
+        Long eventId
+) {
+}
@@ -1,10 +1,19 @@
 package com.kusal.myseat.repository;
 
+import com.kusal.myseat.dto.EventSectionView;
 import com.kusal.myseat.entity.Section;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface SectionRepository extends JpaRepository<Section, Long> {
-	List<Section> findByVenueId(Long venueId);
+
+	@Query("select s from Section s join fetch s.venue where s.venue.id = :venueId")
+	List<Section> findByVenueId(@Param("venueId") Long venueId);
+
+	@Query("select new com.kusal.myseat.dto.EventSectionView(s.id, s.name, s.price, s.totalRows, s.totalColumns) " +
+			"from Section s where s.venue.id = :venueId order by s.id")
+	List<EventSectionView> findViewsByVenueId(@Param("venueId") Long venueId);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.kusal.myseat.repository;
+
+import com.kusal.myseat.entity.SeatStatus;
+
+public record SectionStatusCount(
+        Long eventId,
+        Long sectionId,
+        SeatStatus status,
+        Long seatCount
+) {
+}
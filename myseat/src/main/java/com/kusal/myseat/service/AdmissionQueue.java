@@ -0,0 +1,171 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.config.JwtService;
+import com.kusal.myseat.dto.QueueStatusResponse;
+import com.kusal.myseat.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event waiting room. A queue is just two counters: joining takes the next position and
+ * admission moves a watermark forward at the configured rate, so both are O(1). Positions live
+ * in signed tickets held by clients, which makes a status poll a signature check and a read.
+ * Each opening of a room gets a new epoch, signed into its tickets, so a ticket from a closed room
+ * or from before a restart cannot claim a low position in the room that replaced it.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdmissionQueue {
+
+    private final JwtService jwtService;
+    private final CatalogCache catalogCache;
+
+    private final ConcurrentHashMap<Long, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong roomEpochs = new AtomicLong(System.currentTimeMillis());
+
+    @Value("${booking.waiting-room.tick-millis:1000}")
+    private long tickMillis;
+
+    @Value("${booking.waiting-room.token-ttl-seconds:7200}")
+    private long tokenTtlSeconds;
+
+    public void open(Long eventId, int admitPerSecond) {
+        if (catalogCache.findEvent(eventId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
+        rooms.compute(eventId, (id, room) -> {
+            Room opened = room == null ? new Room(roomEpochs.incrementAndGet()) : room;
+            opened.admitPerSecond = admitPerSecond;
+            return opened;
+        });
+    }
+
+    public void close(Long eventId) {
+        rooms.remove(eventId);
+    }
+
+    public boolean hasOpenRooms() {
+        return !rooms.isEmpty();
+    }
+
+    public boolean isOpen(Long eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    public QueueStatusResponse join(Long eventId, User user) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return new QueueStatusResponse(eventId, null, 0, 0, true);
+        }
+        long position = room.tail.incrementAndGet();
+        String token = jwtService.generateQueueToken(
+                eventId, room.epoch, position, user.getEmail(), Duration.ofSeconds(tokenTtlSeconds));
+        return status(eventId, room, token, position);
+    }
+
+    public QueueStatusResponse status(Long eventId, String token) {
+        Room room = rooms.get(eventId);
+        if (room == null) {
+            return new QueueStatusResponse(eventId, null, 0, 0, true);
+        }
+        Ticket ticket = parse(token);
+        if (ticket == null || !ticket.eventId().equals(eventId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid queue token");
+        }
+        if (ticket.room() != room.epoch) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Queue token is from an earlier waiting room, join again");
+        }
+        return status(eventId, room, token, ticket.position());
+    }
+
+    /**
+     * Returns the ticket if it is valid, belongs to {@code holder} and has been admitted from a
+     * still-open room, otherwise null.
+     */
+    public Ticket admitted(String token, String holder) {
+        Ticket ticket = parse(token);
+        if (ticket == null || !ticket.holder().equals(holder)) {
+            return null;
+        }
+        Room room = rooms.get(ticket.eventId());
+        return room != null && ticket.room() == room.epoch && ticket.position() <= room.admitted ? ticket : null;
+    }
+
+    /**
+     * Rejects a booking for an event with an open waiting room unless the caller was admitted
+     * for that event.
+     */
+    public void checkAdmitted(Long eventId, Long admittedEventId) {
+        if (isOpen(eventId) && !Objects.equals(eventId, admittedEventId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not admitted from the waiting room yet");
+        }
+    }
+
+    @Scheduled(fixedRateString = "${booking.waiting-room.tick-millis:1000}")
+    public void admit() {
+        rooms.values().forEach(room -> room.admit(tickMillis));
+    }
+
+    private QueueStatusResponse status(Long eventId, Room room, String token, long position) {
+        long ahead = Math.max(0, position - room.admitted - 1);
+        return new QueueStatusResponse(eventId, token, position, ahead, position <= room.admitted);
+    }
+
+    private Ticket parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            Claims claims = jwtService.parseToken(token);
+            Object eventId = claims.get("queueEvent");
+            Object room = claims.get("queueRoom");
+            Object position = claims.get("queuePosition");
+            Object holder = claims.get("holder");
+            if (!(eventId instanceof Number) || !(room instanceof Number) || !(position instanceof Number) || holder == null) {
+                return null;
+            }
+            return new Ticket(((Number) eventId).longValue(), ((Number) room).longValue(),
+                    ((Number) position).longValue(), holder.toString());
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    public record Ticket(Long eventId, long room, long position, String holder) {
+    }
+
+    private static final class Room {
+
+        private final long epoch;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long admitted;
+        private volatile int admitPerSecond;
+        private double credit;
+
+        Room(long epoch) {
+            this.epoch = epoch;
+        }
+
+        /**
+         * Only called from the scheduler thread. Admission never runs ahead of the queue, so an
+         * idle room does not bank a burst for later arrivals.
+         */
+        void admit(long elapsedMillis) {
+            credit += admitPerSecond * elapsedMillis / 1000.0;
+            long step = (long) credit;
+            credit -= step;
+            admitted = Math.min(admitted + step, tail.get());
+        }
+    }
+}
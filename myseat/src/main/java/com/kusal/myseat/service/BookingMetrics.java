@@ -0,0 +1,87 @@
+package com.kusal.myseat.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * Booking timers tagged by outcome, and the per-event reserved seat gauge. Calls are timed at the
+ * controller boundary so failures raised at commit (such as optimistic lock conflicts) are
+ * counted with the request that caused them. The gauge is read from {@link SeatAvailability}, so
+ * refreshing it costs no query.
+ */
+@Service
+public class BookingMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SeatAvailability seatAvailability;
+    private final MultiGauge reservedSeats;
+
+    public BookingMetrics(MeterRegistry meterRegistry, SeatAvailability seatAvailability) {
+        this.meterRegistry = meterRegistry;
+        this.seatAvailability = seatAvailability;
+        this.reservedSeats = MultiGauge.builder("booking.seats.reserved")
+                .description("Seats currently held by unconfirmed reservations")
+                .register(meterRegistry);
+    }
+
+    public <T> T recordCreate(Supplier<T> call) {
+        return record("booking.create", call);
+    }
+
+    public <T> T recordConfirm(Supplier<T> call) {
+        return record("booking.confirm", call);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.metrics.reserved-seats-refresh-millis:15000}")
+    public void refreshReservedSeats() {
+        reservedSeats.register(seatAvailability.reservedByEvent()
+                .entrySet()
+                .stream()
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(Tags.of("event", entry.getKey().toString()), entry.getValue()))
+                .toList(), true);
+    }
+
+    private <T> T record(String name, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            outcome = outcomeOf(ex);
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer(name, "outcome", outcome));
+        }
+    }
+
+    private static String outcomeOf(RuntimeException ex) {
+        if (ex instanceof ReservationExpiredException) {
+            return "expired";
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (ex instanceof ResponseStatusException statusException) {
+            HttpStatus status = HttpStatus.resolve(statusException.getStatusCode().value());
+            if (status == HttpStatus.NOT_FOUND) {
+                return "not_found";
+            }
+            if (status == HttpStatus.CONFLICT) {
+                return "conflict";
+            }
+            if (status == HttpStatus.BAD_REQUEST) {
+                return "bad_request";
+            }
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,221 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.BookingResponse;
+import com.kusal.myseat.dto.CreateBookingRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer path for booking creation. Events are hashed onto shards; each shard has one
+ * writer thread draining a bounded queue, so bookings for an event never race each other. The
+ * writer decides availability in {@link SeatInventory} and writes a whole drained batch in one
+ * transaction. Requests that fail the in-memory check are answered without touching the batch.
+ * If the batch transaction itself fails, its commands are retried one transaction each, so one
+ * bad command cannot fail its neighbours.
+ *
+ * <p>In {@link BookingWriteMode#DIRECT} mode this simply delegates to {@link BookingService}.
+ */
+@Slf4j
+@Service
+public class BookingSequencer {
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final BookingService bookingService;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.write-mode:DIRECT}")
+    private BookingWriteMode writeMode;
+
+    @Value("${booking.sequencer.shards:4}")
+    private int shardCount;
+
+    @Value("${booking.sequencer.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${booking.sequencer.batch-size:128}")
+    private int batchSize;
+
+    @Value("${booking.sequencer.timeout-millis:10000}")
+    private long timeoutMillis;
+
+    private Shard[] shards;
+
+    public BookingSequencer(
+            BookingService bookingService,
+            SeatInventory seatInventory,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.bookingService = bookingService;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void start() {
+        if (writeMode != BookingWriteMode.SEQUENCED) {
+            return;
+        }
+        if (!seatInventory.isEnabled()) {
+            throw new IllegalStateException("booking.write-mode=SEQUENCED needs booking.inventory.enabled=true");
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].thread.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (shards == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+        }
+    }
+
+    public BookingResponse createBooking(CreateBookingRequest request) {
+        if (writeMode != BookingWriteMode.SEQUENCED) {
+            return bookingService.createBooking(request);
+        }
+
+        Command command = new Command(bookingService.prepareBooking(request));
+        Shard shard = shards[Math.floorMod(request.eventId().hashCode(), shards.length)];
+        if (!shard.queue.offer(command)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Booking queue is full, please retry");
+        }
+        return await(command);
+    }
+
+    private BookingResponse await(Command command) {
+        try {
+            try {
+                return command.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (command.state.compareAndSet(QUEUED, CANCELLED)) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Booking queue is busy, please retry");
+                }
+                // Already being written; its outcome is imminent and must not be lost.
+                return command.result.get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Booking was interrupted");
+        }
+    }
+
+    private void drain(Shard shard) {
+        List<Command> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(shard.queue.take());
+            } catch (InterruptedException ex) {
+                break;
+            }
+            shard.queue.drainTo(batch, batchSize - 1);
+            batch.removeIf(command -> !command.state.compareAndSet(QUEUED, RUNNING));
+            if (!batch.isEmpty()) {
+                process(batch);
+            }
+            batch.clear();
+        }
+
+        List<Command> abandoned = new ArrayList<>();
+        shard.queue.drainTo(abandoned);
+        abandoned.forEach(command -> command.result.completeExceptionally(
+                new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is shutting down")));
+    }
+
+    private void process(List<Command> batch) {
+        try {
+            List<Accepted> accepted = transactionTemplate.execute(status -> write(batch));
+            accepted.forEach(a -> a.command().result.complete(a.response()));
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(batchFailure);
+                return;
+            }
+            log.debug("Booking batch of {} failed, retrying individually", batch.size(), batchFailure);
+            for (Command command : batch) {
+                if (!command.result.isDone()) {
+                    process(List.of(command));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs inside the batch transaction. In-memory holds are undone by {@link SeatInventory} if
+     * the transaction rolls back, so a retried command starts from a clean grid.
+     */
+    private List<Accepted> write(List<Command> batch) {
+        List<Accepted> accepted = new ArrayList<>(batch.size());
+        for (Command command : batch) {
+            if (command.result.isDone()) {
+                continue;
+            }
+            BookingService.PreparedBooking prepared = command.prepared;
+            List<Long> seatIds;
+            try {
+                seatIds = bookingService.holdSeats(prepared.section(), prepared.request());
+            } catch (ResponseStatusException rejected) {
+                command.result.completeExceptionally(rejected);
+                continue;
+            }
+            accepted.add(new Accepted(command, bookingService.writeBooking(prepared, seatIds)));
+        }
+        return accepted;
+    }
+
+    private record Accepted(Command command, BookingResponse response) {
+    }
+
+    private static final class Command {
+
+        private final BookingService.PreparedBooking prepared;
+        private final CompletableFuture<BookingResponse> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Command(BookingService.PreparedBooking prepared) {
+            this.prepared = prepared;
+        }
+    }
+
+    private final class Shard {
+
+        private final BlockingQueue<Command> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        Shard(int index) {
+            this.thread = new Thread(() -> drain(this), "booking-sequencer-" + index);
+            this.thread.setDaemon(true);
+        }
+    }
+}
@@ -3,15 +3,17 @@ package com.kusal.myseat.service;
 import com.kusal.myseat.dto.BookingResponse;
 import com.kusal.myseat.dto.ConfirmBookingRequest;
 import com.kusal.myseat.dto.CreateBookingRequest;
+import com.kusal.myseat.dto.SeatStatusDelta;
 import com.kusal.myseat.entity.*;
 import com.kusal.myseat.repository.BookingRepository;
 import com.kusal.myseat.repository.BookingSeatRepository;
-import com.kusal.myseat.repository.EventRepository;
-import com.kusal.myseat.repository.SectionRepository;
+import com.kusal.myseat.repository.EventSeatRepository;
+import com.kusal.myseat.repository.SeatRef;
 import com.kusal.myseat.repository.SeatRepository;
 import com.kusal.myseat.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,26 +21,47 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
     private final UserRepository userRepository;
-    private final SectionRepository sectionRepository;
     private final SeatRepository seatRepository;
+    private final EventSeatRepository eventSeatRepository;
     private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
-    private final EventRepository eventRepository;
+    private final CatalogCache catalogCache;
+    private final SeatInventory seatInventory;
+    private final SeatAvailability seatAvailability;
+    private final EventSeatProvisioner eventSeatProvisioner;
+    private final SeatMapVersions seatMapVersions;
+    private final SeatChangeStream seatChangeStream;
+    private final HoldExpiryWheel holdExpiryWheel;
 
     @Value("${booking.reservation-timeout-seconds:300}")
     private long reservationTimeoutSeconds;
 
+    @Value("${booking.claim-mode:OPTIMISTIC}")
+    private SeatClaimMode claimMode;
+
     @Transactional
     public BookingResponse createBooking(CreateBookingRequest request) {
-        expireStaleReservations();
+        PreparedBooking prepared = prepareBooking(request);
+        return writeBooking(prepared, holdSeats(prepared.section(), request));
+    }
 
+    /**
+     * Validates a booking request and resolves what it refers to, without touching seats. Safe to
+     * run outside a transaction.
+     */
+    PreparedBooking prepareBooking(CreateBookingRequest request) {
         User user = null;
         if (request.userId() != null) {
             user = userRepository.findById(request.userId())
@@ -47,11 +70,15 @@ public class BookingService {
 
         validatePaymentDetails(request);
 
-        Event event = eventRepository.findById(request.eventId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+        Event event = catalogCache.findEvent(request.eventId());
+        if (event == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
 
-        Section section = sectionRepository.findById(request.sectionId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Section not found"));
+        Section section = catalogCache.findSection(request.sectionId());
+        if (section == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Section not found");
+        }
 
         if (!section.getVenue().getId().equals(request.venueId())) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Section does not belong to provided venue");
@@ -61,32 +88,44 @@ public class BookingService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Event does not belong to provided venue");
         }
 
-        List<Seat> seats = seatRepository.findAllById(request.seatIds());
-        if (seats.size() != request.seatIds().size()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more seats do not exist");
-        }
+        int requested = request.partySize() != null
+                ? request.partySize()
+                : request.seatIds() == null ? 0 : request.seatIds().size();
+        seatAvailability.checkAvailable(event, section, requested);
 
-        boolean hasWrongSectionSeat = seats.stream()
-                .anyMatch(seat -> !seat.getSection().getId().equals(section.getId()));
-        if (hasWrongSectionSeat) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat does not belong to selected section");
-        }
+        return new PreparedBooking(request, user, event, section);
+    }
 
-        boolean anyUnavailable = seats.stream()
-                .anyMatch(seat -> seat.getStatus() != SeatStatus.AVAILABLE);
-        if (anyUnavailable) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "One or more seats are not available");
+    /**
+     * Writes a reservation for seats already held in memory. Must run inside a transaction.
+     */
+    BookingResponse writeBooking(PreparedBooking prepared, List<Long> seatIds) {
+        CreateBookingRequest request = prepared.request();
+        Event event = prepared.event();
+        Section section = prepared.section();
+
+        List<BookingSeat> bookingSeats;
+        if (eventSeatProvisioner.isSparse()) {
+            bookingSeats = claimSparseSeats(event.getId(), section, seatIds);
+        } else {
+            List<Seat> seats = claimMode == SeatClaimMode.CONDITIONAL
+                    ? claimSeatsConditionally(event.getId(), section, seatIds)
+                    : claimSeatsOptimistically(event.getId(), section, seatIds);
+            bookingSeats = seats.stream()
+                    .map(seat -> BookingSeat.builder().seat(seat).build())
+                    .toList();
         }
-
-        seats.forEach(seat -> seat.setStatus(SeatStatus.RESERVED));
-        seatRepository.saveAll(seats);
+        List<Long> claimedSeatIds = bookingSeats.stream().map(BookingService::seatIdOf).toList();
+        publishSeatChanges(event.getId(), claimedSeatIds, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        seatAvailability.reserved(event.getId(), section.getId(), claimedSeatIds.size());
 
         Instant now = Instant.now();
         Instant expiresAt = now.plus(Duration.ofSeconds(reservationTimeoutSeconds));
-        double totalAmount = section.getPrice() * seats.size();
+        double totalAmount = section.getPrice() * bookingSeats.size();
 
         Booking booking = bookingRepository.save(Booking.builder()
-                .user(user)
+                .user(prepared.user())
+                .event(event)
                 .totalAmount(totalAmount)
                 .status(BookingStatus.RESERVED)
                 .reservedAt(now)
@@ -97,22 +136,114 @@ public class BookingService {
             .paymentReference(request.paymentReference())
                 .build());
 
-        List<BookingSeat> bookingSeats = seats.stream()
-                .map(seat -> BookingSeat.builder()
-                        .booking(booking)
-                        .seat(seat)
-                        .build())
-                .toList();
+        bookingSeats.forEach(bookingSeat -> bookingSeat.setBooking(booking));
         bookingSeatRepository.saveAll(bookingSeats);
+        if (holdExpiryWheel.isEnabled()) {
+            TransactionHooks.afterCommit(() -> holdExpiryWheel.schedule(booking.getId(), expiresAt));
+        }
+
+        return toResponse(booking, claimedSeatIds);
+    }
+
+    /**
+     * Claims the requested seats in the in-memory inventory, or picks them there for a
+     * best-available request. Returns the seat ids to write through to the database.
+     */
+    List<Long> holdSeats(Section section, CreateBookingRequest request) {
+        boolean hasSeatIds = request.seatIds() != null && !request.seatIds().isEmpty();
+        if (hasSeatIds == (request.partySize() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide either seatIds or partySize");
+        }
+
+        if (request.partySize() != null) {
+            if (!seatInventory.isEnabled()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Best-available booking is not enabled");
+            }
+            return seatInventory.allocate(request.eventId(), section, request.partySize());
+        }
+
+        if (seatInventory.isEnabled()) {
+            seatInventory.reserve(request.eventId(), section, request.seatIds());
+        }
+        return request.seatIds();
+    }
+
+    private List<Seat> claimSeatsOptimistically(Long eventId, Section section, List<Long> seatIds) {
+        List<EventSeat> eventSeats = eventSeatRepository.findByEventIdAndSeatIdIn(eventId, seatIds);
+        if (eventSeats.size() != seatIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more seats do not exist");
+        }
+
+        boolean hasWrongSectionSeat = eventSeats.stream()
+                .anyMatch(seat -> !seat.getSection().getId().equals(section.getId()));
+        if (hasWrongSectionSeat) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat does not belong to selected section");
+        }
+
+        boolean anyUnavailable = eventSeats.stream()
+                .anyMatch(seat -> seat.getStatus() != SeatStatus.AVAILABLE);
+        if (anyUnavailable) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "One or more seats are not available");
+        }
 
-        return toResponse(booking, seats);
+        eventSeats.forEach(seat -> seat.setStatus(SeatStatus.RESERVED));
+        eventSeatRepository.saveAll(eventSeats);
+        return eventSeats.stream().map(EventSeat::getSeat).toList();
+    }
+
+    private List<Seat> claimSeatsConditionally(Long eventId, Section section, List<Long> seatIds) {
+        List<Long> sortedSeatIds = seatIds.stream().sorted().toList();
+        if (sortedSeatIds.stream().distinct().count() != sortedSeatIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate seat in request");
+        }
+
+        int claimed = eventSeatRepository.claimAvailable(eventId, section.getId(), sortedSeatIds);
+        if (claimed != sortedSeatIds.size()) {
+            long existing = eventSeatRepository.countByEventIdAndSectionIdAndSeatIdIn(eventId, section.getId(), sortedSeatIds);
+            if (existing != sortedSeatIds.size()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more seats do not exist in selected section");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "One or more seats are not available");
+        }
+
+        return sortedSeatIds.stream()
+                .map(seatRepository::getReferenceById)
+                .toList();
+    }
+
+    /**
+     * Stores a held row per seat of a sparse section. The unique cell key makes the insert the
+     * claim, so there is nothing to read or version-check first; inserts go in seat id order so
+     * overlapping requests cannot deadlock.
+     */
+    private List<BookingSeat> claimSparseSeats(Long eventId, Section section, List<Long> seatIds) {
+        List<Long> sortedSeatIds = seatIds.stream().sorted().toList();
+        if (sortedSeatIds.stream().distinct().count() != sortedSeatIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate seat in request");
+        }
+        if (sortedSeatIds.stream().anyMatch(seatId -> !SparseSeats.contains(section, seatId))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "One or more seats do not exist in selected section");
+        }
+
+        List<BookingSeat> bookingSeats = new ArrayList<>(sortedSeatIds.size());
+        List<Long> lostSeatIds = new ArrayList<>();
+        for (Long seatId : sortedSeatIds) {
+            int row = SparseSeats.row(seatId);
+            int column = SparseSeats.column(seatId);
+            if (eventSeatRepository.insertIfAbsent(eventId, section.getId(), row, column, SeatStatus.RESERVED.name()) == 0) {
+                lostSeatIds.add(seatId);
+            }
+            bookingSeats.add(BookingSeat.builder().section(section).rowNumber(row).columnNumber(column).build());
+        }
+        if (!lostSeatIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seats no longer available: " + lostSeatIds);
+        }
+        return bookingSeats;
     }
 
     @Transactional
     public BookingResponse confirmBooking(ConfirmBookingRequest request) {
-        expireStaleReservations();
-
-        Booking booking = bookingRepository.findById(request.bookingId())
+        Booking booking = bookingRepository.findByIdForUpdate(request.bookingId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found"));
 
         if (booking.getStatus() != BookingStatus.RESERVED) {
@@ -121,58 +252,149 @@ public class BookingService {
 
         Instant now = Instant.now();
         if (booking.getExpiresAt() != null && !booking.getExpiresAt().isAfter(now)) {
-            expireBooking(booking);
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation expired");
+            expireBookings(List.of(booking.getId()));
+            throw new ReservationExpiredException();
         }
 
-        List<Seat> seats = bookingSeatRepository.findByBookingId(booking.getId())
+        List<Long> bookedSeatIds = bookingSeatRepository.findWithSeatsByBookingId(booking.getId())
                 .stream()
-                .map(BookingSeat::getSeat)
+                .map(BookingService::seatIdOf)
                 .toList();
 
-        boolean anyNotReserved = seats.stream().anyMatch(seat -> seat.getStatus() != SeatStatus.RESERVED);
+        Long eventId = booking.getEvent() == null ? null : booking.getEvent().getId();
+        List<EventSeat> eventSeats;
+        if (eventId == null) {
+            eventSeats = List.of();
+        } else if (eventSeatProvisioner.isSparse()) {
+            eventSeats = eventSeatRepository.findCellsByBookingId(booking.getId());
+        } else {
+            eventSeats = eventSeatRepository.findByEventIdAndSeatIdIn(eventId, bookedSeatIds);
+        }
+        boolean anyNotReserved = eventSeats.size() != bookedSeatIds.size()
+                || eventSeats.stream().anyMatch(seat -> seat.getStatus() != SeatStatus.RESERVED);
         if (anyNotReserved) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Reserved seats are no longer valid");
         }
 
-        seats.forEach(seat -> seat.setStatus(SeatStatus.BOOKED));
-        seatRepository.saveAll(seats);
+        eventSeats.forEach(seat -> seat.setStatus(SeatStatus.BOOKED));
+        eventSeatRepository.saveAll(eventSeats);
+        seatIdsBySection(eventSeats).forEach((sectionId, seatIds) -> {
+            seatInventory.markBooked(eventId, sectionId, seatIds);
+            seatAvailability.booked(eventId, sectionId, seatIds.size());
+        });
+        publishSeatChanges(eventId, bookedSeatIds, SeatStatus.RESERVED, SeatStatus.BOOKED);
 
         booking.setStatus(BookingStatus.CONFIRMED);
         booking.setConfirmedAt(now);
         bookingRepository.save(booking);
+        cancelHolds(List.of(booking.getId()));
 
-        return toResponse(booking, seats);
+        return toResponse(booking, bookedSeatIds);
     }
 
     @Transactional
-    public void expireStaleReservations() {
-        Instant now = Instant.now();
-        List<Booking> staleBookings = bookingRepository.findByStatusAndExpiresAtBefore(BookingStatus.RESERVED, now);
-        staleBookings.forEach(this::expireBooking);
+    public int expireStaleReservations(int batchSize) {
+        List<Long> staleBookingIds = bookingRepository.findIdsByStatusAndExpiresAtBefore(
+                BookingStatus.RESERVED, Instant.now(), PageRequest.of(0, batchSize));
+        expireBookings(staleBookingIds);
+        return staleBookingIds.size();
     }
 
-    private void expireBooking(Booking booking) {
-        List<Seat> seats = bookingSeatRepository.findByBookingId(booking.getId())
-                .stream()
-                .map(BookingSeat::getSeat)
-                .filter(seat -> seat.getStatus() == SeatStatus.RESERVED)
-                .toList();
+    /**
+     * Expires the given bookings if they are still reserved. Used by {@link HoldExpiryWheel}
+     * ticks, whose view of a booking may be a moment behind a confirmation.
+     */
+    @Transactional
+    public int expireHolds(Collection<Long> bookingIds) {
+        return expireBookings(bookingIds);
+    }
 
-        seats.forEach(seat -> seat.setStatus(SeatStatus.AVAILABLE));
-        seatRepository.saveAll(seats);
+    /**
+     * Locks the bookings that are still reserved before reading their seats, so a confirmation
+     * cannot book a seat between the read and the release. Returns how many were expired.
+     */
+    private int expireBookings(Collection<Long> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> bookingIds = bookingRepository.lockIdsByIdInAndStatus(candidateIds, BookingStatus.RESERVED);
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        cancelHolds(bookingIds);
+
+        List<SeatRef> releasedSeats;
+        if (eventSeatProvisioner.isSparse()) {
+            List<EventSeat> heldCells = eventSeatRepository.findReservedCells(bookingIds);
+            List<Long> cellIds = heldCells.stream().map(EventSeat::getId).toList();
+            if (eventSeatRepository.deleteReservedCells(cellIds) != cellIds.size()) {
+                // a cell left RESERVED after it was read; release only the cells actually deleted
+                Set<Long> kept = eventSeatRepository.findAllById(cellIds).stream()
+                        .map(EventSeat::getId)
+                        .collect(Collectors.toSet());
+                heldCells = heldCells.stream().filter(cell -> !kept.contains(cell.getId())).toList();
+            }
+            releasedSeats = heldCells.stream()
+                    .map(cell -> new SeatRef(storedSeatIdOf(cell), cell.getSection().getId(), cell.getEvent().getId()))
+                    .toList();
+        } else {
+            releasedSeats = eventSeatRepository.findReservedSeatRefs(bookingIds);
+            eventSeatRepository.releaseReservedSeats(bookingIds);
+        }
+        releasedSeats.stream()
+                .collect(Collectors.groupingBy(SeatRef::eventId, Collectors.groupingBy(SeatRef::sectionId,
+                        Collectors.mapping(SeatRef::seatId, Collectors.toList()))))
+                .forEach((eventId, bySection) -> bySection.forEach((sectionId, seatIds) -> {
+                    seatInventory.release(eventId, sectionId, seatIds);
+                    seatAvailability.released(eventId, sectionId, seatIds.size());
+                }));
+        releasedSeats.stream()
+                .collect(Collectors.groupingBy(SeatRef::eventId,
+                        Collectors.mapping(SeatRef::seatId, Collectors.toList())))
+                .forEach((eventId, seatIds) -> publishSeatChanges(eventId, seatIds, SeatStatus.RESERVED, SeatStatus.AVAILABLE));
+
+        bookingRepository.expireReserved(bookingIds);
+        return bookingIds.size();
+    }
 
-        booking.setStatus(BookingStatus.EXPIRED);
-        bookingRepository.save(booking);
+    private void cancelHolds(List<Long> bookingIds) {
+        if (holdExpiryWheel.isEnabled()) {
+            TransactionHooks.afterCommit(() -> bookingIds.forEach(holdExpiryWheel::cancel));
+        }
     }
 
-    private BookingResponse toResponse(Booking booking, List<Seat> seats) {
+    private void publishSeatChanges(Long eventId, List<Long> seatIds, SeatStatus from, SeatStatus to) {
+        seatMapVersions.bump(eventId);
+        seatChangeStream.publish(eventId, seatIds.stream()
+                .map(seatId -> new SeatStatusDelta(seatId, from, to))
+                .toList());
+    }
+
+    private Map<Long, List<Long>> seatIdsBySection(List<EventSeat> seats) {
+        return seats.stream()
+                .collect(Collectors.groupingBy(seat -> seat.getSection().getId(),
+                        Collectors.mapping(BookingService::storedSeatIdOf, Collectors.toList())));
+    }
+
+    private static long seatIdOf(BookingSeat bookingSeat) {
+        return bookingSeat.getSeat() != null
+                ? bookingSeat.getSeat().getId()
+                : SparseSeats.seatId(bookingSeat.getSection().getId(), bookingSeat.getRowNumber(), bookingSeat.getColumnNumber());
+    }
+
+    private static long storedSeatIdOf(EventSeat eventSeat) {
+        return eventSeat.getSeat() != null
+                ? eventSeat.getSeat().getId()
+                : SparseSeats.seatId(eventSeat.getSection().getId(), eventSeat.getRowNumber(), eventSeat.getColumnNumber());
+    }
+
+    static BookingResponse toResponse(Booking booking, List<Long> seatIds) {
         return new BookingResponse(
                 booking.getId(),
                 booking.getTotalAmount(),
                 booking.getStatus(),
                 booking.getExpiresAt(),
-                seats.stream().map(Seat::getId).toList(), null
+                seatIds, null
         );
     }
 
@@ -190,4 +412,7 @@ public class BookingService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "paymentReference is required");
         }
     }
+
+    record PreparedBooking(CreateBookingRequest request, User user, Event event, Section section) {
+    }
 }
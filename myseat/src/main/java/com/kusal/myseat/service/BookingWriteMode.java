@@ -0,0 +1,10 @@
+package com.kusal.myseat.service;
+
+/**
+ * How reservations reach the database. {@code DIRECT} runs each booking in its own transaction
+ * on the request thread; {@code SEQUENCED} hands it to {@link BookingSequencer}.
+ */
+public enum BookingWriteMode {
+    DIRECT,
+    SEQUENCED
+}
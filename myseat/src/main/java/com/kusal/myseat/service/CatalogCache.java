@@ -0,0 +1,64 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.EventSectionView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.entity.Venue;
+import com.kusal.myseat.repository.EventRepository;
+import com.kusal.myseat.repository.SectionRepository;
+import com.kusal.myseat.repository.VenueRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Cached reads of catalog reference data. Entries are detached entities and must be treated as
+ * read-only; writes go through the repositories and evict the affected entries. Lookups that miss
+ * are not cached, so newly created rows need no eviction.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogCache {
+
+    public static final String EVENTS = "events";
+    public static final String VENUES = "venues";
+    public static final String SECTIONS = "sections";
+    public static final String VENUE_SECTIONS = "venueSections";
+    public static final String VENUE_SECTION_VIEWS = "venueSectionViews";
+
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final SectionRepository sectionRepository;
+
+    @Cacheable(cacheNames = EVENTS, unless = "#result == null")
+    public Event findEvent(Long eventId) {
+        return eventRepository.findById(eventId).orElse(null);
+    }
+
+    @Cacheable(cacheNames = VENUES, unless = "#result == null")
+    public Venue findVenue(Long venueId) {
+        return venueRepository.findById(venueId).orElse(null);
+    }
+
+    @Cacheable(cacheNames = SECTIONS, unless = "#result == null")
+    public Section findSection(Long sectionId) {
+        return sectionRepository.findById(sectionId).orElse(null);
+    }
+
+    @Cacheable(cacheNames = VENUE_SECTIONS)
+    public List<Section> findSectionsByVenue(Long venueId) {
+        return sectionRepository.findByVenueId(venueId);
+    }
+
+    @Cacheable(cacheNames = VENUE_SECTION_VIEWS)
+    public List<EventSectionView> findSectionViewsByVenue(Long venueId) {
+        return sectionRepository.findViewsByVenueId(venueId);
+    }
+
+    @CacheEvict(cacheNames = {VENUE_SECTIONS, VENUE_SECTION_VIEWS})
+    public void evictVenueSections(Long venueId) {
+    }
+}
@@ -1,42 +1,60 @@
 package com.kusal.myseat.service;
 
+import com.kusal.myseat.dto.CompactSeatMap;
 import com.kusal.myseat.dto.CreateEventRequest;
 import com.kusal.myseat.dto.CreateSectionRequest;
 import com.kusal.myseat.dto.CreateUserRequest;
 import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.EventAvailability;
+import com.kusal.myseat.dto.EventPage;
 import com.kusal.myseat.dto.EventView;
 import com.kusal.myseat.dto.EventSectionView;
 import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.dto.SectionSeatMap;
 import com.kusal.myseat.entity.*;
 import com.kusal.myseat.repository.EventRepository;
+import com.kusal.myseat.repository.EventSeatRepository;
 import com.kusal.myseat.repository.SectionRepository;
-import com.kusal.myseat.repository.SeatRepository;
 import com.kusal.myseat.repository.UserRepository;
 import com.kusal.myseat.repository.VenueRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CatalogService {
 
+    private static final int MAX_EVENT_PAGE_SIZE = 100;
+    private static final LocalDateTime NO_END_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final EventRepository eventRepository;
     private final SectionRepository sectionRepository;
-    private final SeatRepository seatRepository;
+    private final EventSeatRepository eventSeatRepository;
     private final UserRepository userRepository;
     private final VenueRepository venueRepository;
-    private final BookingService bookingService;
+    private final EventSeatProvisioner eventSeatProvisioner;
+    private final SeatMapVersions seatMapVersions;
+    private final SeatChangeStream seatChangeStream;
+    private final SeatAvailability seatAvailability;
+    private final CatalogCache catalogCache;
     private final PasswordEncoder passwordEncoder;
 
+    @Transactional
     public Event createEvent(CreateEventRequest request) {
         Venue venue = resolveVenueForEvent(request);
         LocalDateTime eventDate = parseEventDate(request.eventDate());
@@ -48,36 +66,61 @@ public class CatalogService {
                 .venue(venue)
                 .eventDate(eventDate)
                 .build();
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventSeatProvisioner.provision(savedEvent);
+        return savedEvent;
     }
 
-    public List<EventView> getEvents() {
-        return eventRepository.findAllByOrderByEventDateAsc()
-                .stream()
-                .map(this::toEventView)
+    /**
+     * One page of events ordered by date, from now onwards unless {@code from} says otherwise. The
+     * page is read by seeking past the cursor on the {@code (eventDate, id)} index, so its cost
+     * does not depend on how many events come before it.
+     */
+    public EventPage getEvents(LocalDateTime from, LocalDateTime to, Long venueId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_EVENT_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_EVENT_PAGE_SIZE);
+        }
+
+        EventCursor after = cursor != null
+                ? EventCursor.decode(cursor)
+                : new EventCursor(from != null ? from : LocalDateTime.now(), 0L);
+        LocalDateTime until = to != null ? to : NO_END_DATE;
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<EventView> events = venueId == null
+                ? eventRepository.findViewsAfter(after.eventDate(), after.id(), until, page)
+                : eventRepository.findViewsAtVenueAfter(venueId, after.eventDate(), after.id(), until, page);
+
+        String nextCursor = null;
+        if (events.size() > limit) {
+            events = events.subList(0, limit);
+            EventView last = events.get(limit - 1);
+            nextCursor = new EventCursor(last.eventDate(), last.id()).encode();
+        }
+
+        Map<Long, EventAvailability> availability = seatAvailability.forEvents(events);
+        List<EventView> views = events.stream()
+                .map(event -> event.withAvailability(availability.get(event.id())))
                 .toList();
+        return new EventPage(views, nextCursor);
     }
 
     public EventView getEventById(Long eventId) {
+        return toEventView(getEventOrThrow(eventId), getAvailability(eventId));
+    }
+
+    public EventAvailability getAvailability(Long eventId) {
         Event event = getEventOrThrow(eventId);
         requireVenue(event);
-        return toEventView(event);
+        return seatAvailability.forEvent(event);
     }
 
     public List<EventSectionView> getSectionsForVenue(Long venueId) {
-        Venue venue = venueRepository.findById(venueId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found"));
+        Venue venue = catalogCache.findVenue(venueId);
+        if (venue == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Venue not found");
+        }
 
-        return sectionRepository.findByVenueId(venue.getId())
-            .stream()
-            .map(section -> new EventSectionView(
-                section.getId(),
-                section.getName(),
-                section.getPrice(),
-                section.getTotalRows(),
-                section.getTotalColumns()
-            ))
-            .toList();
+        return catalogCache.findSectionViewsByVenue(venue.getId());
     }
 
     public Venue createVenue(CreateVenueRequest request) {
@@ -106,18 +149,11 @@ public class CatalogService {
 
         Section savedSection = sectionRepository.save(section);
         
-        List<Seat> seats = new ArrayList<>();
-        for (int row = 1; row <= request.totalRows(); row++) {
-            for (int col = 1; col <= request.totalColumns(); col++) {
-                seats.add(Seat.builder()
-                        .rowNumber(row)
-                        .columnNumber(col)
-                        .status(SeatStatus.AVAILABLE)
-                        .section(savedSection)
-                        .build());
-            }
-        }
-        seatRepository.saveAll(seats);
+        long start = System.nanoTime();
+        int seatCount = eventSeatProvisioner.provisionSection(savedSection);
+        log.info("Generated {} seats for section {} in {} ms", seatCount, savedSection.getId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        TransactionHooks.afterCommit(() -> catalogCache.evictVenueSections(venue.getId()));
 
         return savedSection;
     }
@@ -132,20 +168,51 @@ public class CatalogService {
         return userRepository.save(user);
     }
 
+    public String getSeatMapETag(Long eventId) {
+        requireVenue(getEventOrThrow(eventId));
+        return seatMapVersions.etagForEvent(eventId);
+    }
+
+    public SseEmitter streamSeatsForEvent(Long eventId, String lastEventId) {
+        requireVenue(getEventOrThrow(eventId));
+        return seatChangeStream.subscribe(eventId, lastEventId, () -> getSeatsForEvent(eventId));
+    }
+
     @Transactional
     public List<SeatView> getSeatsForEvent(Long eventId) {
-        bookingService.expireStaleReservations();
+        Event event = getEventOrThrow(eventId);
+        requireVenue(event);
 
+        List<SeatView> seats = eventSeatRepository.findSeatViewsByEventId(eventId);
+        if (!eventSeatProvisioner.isSparse()) {
+            return seats;
+        }
+
+        Map<Long, List<SeatView>> storedBySection = seats.stream()
+                .collect(Collectors.groupingBy(SeatView::sectionId));
+        return SparseSeats.views(catalogCache.findSectionsByVenue(event.getVenue().getId()), storedBySection);
+    }
+
+    @Transactional
+    public CompactSeatMap getCompactSeatMap(Long eventId) {
         Event event = getEventOrThrow(eventId);
         Venue venue = requireVenue(event);
 
-        ensureSeatsForVenue(venue.getId());
+        Map<Long, List<SeatView>> seatsBySection = eventSeatRepository.findSeatViewsByEventId(eventId)
+                .stream()
+                .collect(Collectors.groupingBy(SeatView::sectionId));
 
-        return seatRepository.findBySectionVenueId(venue.getId())
+        List<SectionSeatMap> sections = catalogCache.findSectionsByVenue(venue.getId())
                 .stream()
-            .filter(seat -> seat.getSection() != null)
-            .map(seat -> new SeatView(seat.getId(), seat.getSection().getId(), seat.getRowNumber(), seat.getColumnNumber(), seat.getStatus()))
+                .map(section -> {
+                    List<SeatView> seats = seatsBySection.getOrDefault(section.getId(), List.of());
+                    return eventSeatProvisioner.isSparse()
+                            ? SeatMapEncoder.encodeSparse(section, seats)
+                            : SeatMapEncoder.encode(section, seats);
+                })
                 .toList();
+
+        return new CompactSeatMap(eventId, List.of(SeatStatus.values()), sections);
     }
 
     private Venue resolveVenueForEvent(CreateEventRequest request) {
@@ -176,7 +243,7 @@ public class CatalogService {
         }
     }
 
-    private EventView toEventView(Event event) {
+    private EventView toEventView(Event event, EventAvailability availability) {
         Venue venue = requireVenue(event);
         return new EventView(
                 event.getId(),
@@ -186,13 +253,17 @@ public class CatalogService {
                 event.getEventDate(),
                 venue.getId(),
                 venue.getName(),
-                venue.getAddress()
+                venue.getAddress(),
+                availability
         );
     }
 
     private Event getEventOrThrow(Long eventId) {
-        return eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found"));
+        Event event = catalogCache.findEvent(eventId);
+        if (event == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found");
+        }
+        return event;
     }
 
     private Venue requireVenue(Event event) {
@@ -202,43 +273,4 @@ public class CatalogService {
         }
         return event.getVenue();
     }
-
-    private void ensureSeatsForVenue(Long venueId) {
-        List<Section> sections = sectionRepository.findByVenueId(venueId);
-        if (sections.isEmpty()) {
-            return;
-        }
-
-        List<Seat> seatsToCreate = new ArrayList<>();
-        for (Section section : sections) {
-            long existingSeatCount = seatRepository.countBySectionId(section.getId());
-            if (existingSeatCount > 0) {
-                continue;
-            }
-
-            Integer totalRows = section.getTotalRows();
-            Integer totalColumns = section.getTotalColumns();
-            if (totalRows == null || totalColumns == null || totalRows < 1 || totalColumns < 1) {
-                continue;
-            }
-
-            for (int row = 1; row <= totalRows; row++) {
-                for (int col = 1; col <= totalColumns; col++) {
-                    seatsToCreate.add(Seat.builder()
-                            .rowNumber(row)
-                            .columnNumber(col)
-                            .status(SeatStatus.AVAILABLE)
-                            .section(section)
-                            .build());
-                }
-            }
-        }
-
-        if (!seatsToCreate.isEmpty()) {
-            seatRepository.saveAll(seatsToCreate);
-        }
-    }
-
-
 }
-
@@ -0,0 +1,31 @@
+package com.kusal.myseat.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the event list, ordered by {@code (eventDate, id)}. Handed to clients as an opaque
+ * URL-safe token; the next page starts after this position.
+ */
+record EventCursor(LocalDateTime eventDate, Long id) {
+
+    String encode() {
+        String position = eventDate + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EventCursor decode(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int comma = position.indexOf(',');
+            return new EventCursor(LocalDateTime.parse(position.substring(0, comma)), Long.parseLong(position.substring(comma + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.repository.EventRepository;
+import com.kusal.myseat.repository.EventSeatRepository;
+import com.kusal.myseat.repository.SeatBulkInserter;
+import com.kusal.myseat.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the per-event seat rows every booking and seat map works against. Rows are written in
+ * bulk when an event or section is created; events from before per-event inventory are
+ * backfilled once at startup, so reads never write. With {@link SeatStorageMode#SPARSE} nothing is
+ * written up front; seat rows only appear when a seat is held.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSeatProvisioner {
+
+    private final EventRepository eventRepository;
+    private final EventSeatRepository eventSeatRepository;
+    private final SeatRepository seatRepository;
+    private final SeatBulkInserter seatBulkInserter;
+    private final CatalogCache catalogCache;
+    private final SeatInventory seatInventory;
+    private final SeatAvailability seatAvailability;
+    private final SeatMapVersions seatMapVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.seat-storage:DENSE}")
+    private SeatStorageMode seatStorage;
+
+    public boolean isSparse() {
+        return seatStorage == SeatStorageMode.SPARSE;
+    }
+
+    public void provision(Event event) {
+        if (isSparse()) {
+            return;
+        }
+        ensureSeatsForVenue(event.getVenue().getId());
+        seatBulkInserter.insertEventSeats(event.getId());
+    }
+
+    /**
+     * Generates a new section's seats and their rows for every event at the venue. Returns the
+     * number of seats generated.
+     */
+    public int provisionSection(Section section) {
+        int seatCount = 0;
+        if (!isSparse()) {
+            seatCount = seatBulkInserter.insertGrid(section.getId(), section.getTotalRows(), section.getTotalColumns());
+            seatBulkInserter.insertSectionEventSeats(section.getId());
+        }
+        seatInventory.invalidateSection(section.getId());
+        seatAvailability.invalidateAll();
+        seatMapVersions.bumpAll();
+        return seatCount;
+    }
+
+    /**
+     * Backfills every event that has no seat rows yet, each in its own transaction. This is the
+     * only place existing events are provisioned, so the booking path never writes seat rows.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (isSparse()) {
+            return;
+        }
+        int backfilled = 0;
+        for (Event event : eventRepository.findAll()) {
+            if (event.getVenue() == null || eventSeatRepository.existsByEventId(event.getId())) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> backfill(event.getId(), event.getVenue().getId()));
+            backfilled++;
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled seat rows for {} events", backfilled);
+        }
+    }
+
+    private void backfill(Long eventId, Long venueId) {
+        boolean seatsCreated = ensureSeatsForVenue(venueId);
+        if (seatBulkInserter.backfillEventSeats(eventId) > 0 || seatsCreated) {
+            seatInventory.invalidateEvent(eventId);
+            seatAvailability.invalidateEvent(eventId);
+            seatMapVersions.bump(eventId);
+        }
+    }
+
+    /**
+     * Generates seats for sections that were created without them.
+     */
+    private boolean ensureSeatsForVenue(Long venueId) {
+        List<Section> sections = catalogCache.findSectionsByVenue(venueId);
+        boolean seatsCreated = false;
+        for (Section section : sections) {
+            Integer totalRows = section.getTotalRows();
+            Integer totalColumns = section.getTotalColumns();
+            if (totalRows == null || totalColumns == null || totalRows < 1 || totalColumns < 1) {
+                continue;
+            }
+            if (seatRepository.countBySectionId(section.getId()) > 0) {
+                continue;
+            }
+
+            seatBulkInserter.insertGrid(section.getId(), totalRows, totalColumns);
+            seatsCreated = true;
+        }
+        return seatsCreated;
+    }
+}
@@ -0,0 +1,151 @@
+package com.kusal.myseat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hierarchical timing wheel of reservation deadlines. Four levels of 64 slots each, where a slot
+ * on level n spans 64^n ticks. A hold goes straight into the slot of its deadline on the lowest
+ * level that reaches it, and is moved down a level when the wheel below wraps around to it, so
+ * insert is O(1) and a tick only touches the holds that are due.
+ *
+ * <p>Cancelling just flags the hold; it is dropped when its slot comes up. Inserting and advancing
+ * share one lock, cancelling takes none.
+ */
+@Component
+public class HoldExpiryWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final boolean enabled;
+    private final long tickMillis;
+    private final ConcurrentHashMap<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final List<List<Hold>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    private long currentTick;
+
+    public HoldExpiryWheel(
+            @Value("${booking.expiry.mode:SWEEP}") ReservationExpiryMode mode,
+            @Value("${booking.expiry.wheel-tick-millis:250}") long tickMillis
+    ) {
+        this.enabled = mode == ReservationExpiryMode.WHEEL;
+        this.tickMillis = tickMillis;
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return holds.size();
+    }
+
+    /**
+     * Tracks a hold until its deadline. Scheduling a booking again replaces its previous hold.
+     */
+    public void schedule(Long bookingId, Instant expiresAt) {
+        if (!enabled) {
+            return;
+        }
+        Hold hold = new Hold(bookingId, Math.floorDiv(expiresAt.toEpochMilli() + tickMillis - 1, tickMillis));
+        Hold previous = holds.put(bookingId, hold);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        synchronized (this) {
+            place(hold, currentTick + 1);
+        }
+    }
+
+    public void cancel(Long bookingId) {
+        Hold hold = holds.remove(bookingId);
+        if (hold != null) {
+            hold.cancelled = true;
+        }
+    }
+
+    /**
+     * Moves the wheel forward to {@code now} and returns the bookings whose holds fell due.
+     */
+    public List<Long> advance(Instant now) {
+        List<Long> expired = new ArrayList<>();
+        long targetTick = now.toEpochMilli() / tickMillis;
+        synchronized (this) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                        cascade(level);
+                    }
+                }
+                List<Hold> due = slot(0, currentTick);
+                for (Hold hold : due) {
+                    if (!hold.cancelled && holds.remove(hold.bookingId, hold)) {
+                        expired.add(hold.bookingId);
+                    }
+                }
+                due.clear();
+            }
+        }
+        return expired;
+    }
+
+    private void cascade(int level) {
+        List<Hold> moving = slot(level, currentTick >> (SLOT_BITS * level));
+        List<Hold> copy = new ArrayList<>(moving);
+        moving.clear();
+        for (Hold hold : copy) {
+            if (!hold.cancelled) {
+                place(hold, currentTick);
+            }
+        }
+    }
+
+    /**
+     * @param dueTick the first level-0 slot still to be processed, used for holds already due
+     */
+    private void place(Hold hold, long dueTick) {
+        long delta = hold.deadlineTick - currentTick;
+        if (delta <= 0) {
+            slot(0, dueTick).add(hold);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                slot(level, hold.deadlineTick >> (SLOT_BITS * level)).add(hold);
+                return;
+            }
+        }
+        // Beyond the top level: park in the last top-level slot and re-place when it cascades.
+        int top = LEVELS - 1;
+        slot(top, (currentTick >> (SLOT_BITS * top)) + SLOT_MASK).add(hold);
+    }
+
+    private List<Hold> slot(int level, long index) {
+        return slots.get(level * SLOTS + (int) (index & SLOT_MASK));
+    }
+
+    private static final class Hold {
+
+        private final Long bookingId;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        Hold(Long bookingId, long deadlineTick) {
+            this.bookingId = bookingId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.kusal.myseat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kusal.myseat.dto.BookingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Replays booking results for retried requests carrying the same Idempotency-Key. The first
+ * request runs the call; concurrent duplicates wait on its result, and later retries get the
+ * stored response until it expires. Failed calls are not stored, so a retry after a failure runs
+ * again. The first request is kept with its entry, and a key reused with a request that is not
+ * {@code equals} to it is refused; requests are records, so this compares every field.
+ */
+@Service
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final long waitTimeoutMillis;
+
+    public IdempotencyStore(
+            @Value("${booking.idempotency.ttl-seconds:600}") long ttlSeconds,
+            @Value("${booking.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${booking.idempotency.wait-timeout-millis:10000}") long waitTimeoutMillis
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    public BookingResponse execute(String scope, String key, Object request, Supplier<BookingResponse> call) {
+        if (key == null || key.isBlank()) {
+            return call.get();
+        }
+
+        String cacheKey = scope + ":" + key;
+        Entry mine = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, mine);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used with a different request");
+            }
+            return await(existing.result());
+        }
+
+        try {
+            BookingResponse response = call.get();
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            entries.asMap().remove(cacheKey, mine);
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private BookingResponse await(CompletableFuture<BookingResponse> result) {
+        try {
+            return result.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for idempotent request");
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<BookingResponse> result) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.kusal.myseat.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Raised when a reservation is confirmed after its hold has lapsed. Answered as 409 like any other
+ * conflict, but kept as its own type so metrics can tell expiries apart without reading the reason.
+ */
+public class ReservationExpiredException extends ResponseStatusException {
+
+    public ReservationExpiredException() {
+        super(HttpStatus.CONFLICT, "Reservation expired");
+    }
+}
@@ -0,0 +1,10 @@
+package com.kusal.myseat.service;
+
+/**
+ * {@code SWEEP} polls the booking table for expired reservations; {@code WHEEL} tracks each hold
+ * in {@link HoldExpiryWheel} and releases it at its deadline.
+ */
+public enum ReservationExpiryMode {
+    SWEEP,
+    WHEEL
+}
@@ -0,0 +1,139 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.entity.BookingStatus;
+import com.kusal.myseat.repository.BookingHold;
+import com.kusal.myseat.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases expired reservations in the background so seat-map reads and bookings no longer pay
+ * for the expiry scan. In {@code SWEEP} mode each batch runs in its own transaction and a sweep
+ * keeps draining until a batch comes back short. In {@code WHEEL} mode holds are tracked in
+ * {@link HoldExpiryWheel}, rebuilt from reserved bookings on startup, and whatever falls due on a
+ * tick is released in batches.
+ */
+@Slf4j
+@Service
+public class ReservationExpiryScheduler {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final Timer sweepTimer;
+    private final Counter expiredCounter;
+
+    public ReservationExpiryScheduler(
+            BookingService bookingService,
+            BookingRepository bookingRepository,
+            HoldExpiryWheel holdExpiryWheel,
+            MeterRegistry meterRegistry,
+            @Value("${booking.expiry.batch-size:500}") int batchSize,
+            @Value("${booking.expiry.sweep-interval-millis:5000}") long retryDelayMillis
+    ) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.batchSize = batchSize;
+        this.retryDelayMillis = retryDelayMillis;
+        this.sweepTimer = Timer.builder("booking.expiry.sweep")
+                .description("Duration of one reservation expiry sweep")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("booking.expiry.expired")
+                .description("Reservations expired by the sweeper")
+                .register(meterRegistry);
+        Gauge.builder("booking.expiry.wheel.holds", holdExpiryWheel, HoldExpiryWheel::size)
+                .description("Reservation holds tracked by the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        if (!holdExpiryWheel.isEnabled()) {
+            return;
+        }
+        long afterId = 0;
+        int tracked = 0;
+        List<BookingHold> page;
+        do {
+            page = bookingRepository.findHoldsAfter(BookingStatus.RESERVED, afterId, PageRequest.of(0, batchSize));
+            for (BookingHold hold : page) {
+                if (hold.expiresAt() != null) {
+                    holdExpiryWheel.schedule(hold.bookingId(), hold.expiresAt());
+                    tracked++;
+                }
+                afterId = hold.bookingId();
+            }
+        } while (page.size() == batchSize);
+        log.info("Expiry wheel rebuilt with {} reserved bookings", tracked);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${booking.expiry.sweep-interval-millis:5000}",
+            initialDelayString = "${booking.expiry.sweep-interval-millis:5000}"
+    )
+    public void sweep() {
+        if (holdExpiryWheel.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int expired = 0;
+        int batch;
+        do {
+            batch = bookingService.expireStaleReservations(batchSize);
+            expired += batch;
+        } while (batch == batchSize);
+
+        record(start, expired);
+    }
+
+    @Scheduled(fixedRateString = "${booking.expiry.wheel-tick-millis:250}")
+    public void tick() {
+        if (!holdExpiryWheel.isEnabled()) {
+            return;
+        }
+        List<Long> due = holdExpiryWheel.advance(Instant.now());
+        if (due.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expired += bookingService.expireHolds(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to expire {} reservations, retrying in {} ms", batch.size(), retryDelayMillis, ex);
+                Instant retryAt = Instant.now().plusMillis(retryDelayMillis);
+                batch.forEach(bookingId -> holdExpiryWheel.schedule(bookingId, retryAt));
+            }
+        }
+
+        record(start, expired);
+    }
+
+    private void record(long start, int expired) {
+        long elapsedNanos = System.nanoTime() - start;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        expiredCounter.increment(expired);
+
+        if (expired > 0) {
+            log.info("Expired {} reservations in {} ms", expired, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+}
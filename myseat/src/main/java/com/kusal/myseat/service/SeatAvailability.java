@@ -0,0 +1,251 @@
+package com.kusal.myseat.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kusal.myseat.dto.EventAvailability;
+import com.kusal.myseat.dto.EventView;
+import com.kusal.myseat.dto.SectionAvailability;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.repository.EventSeatRepository;
+import com.kusal.myseat.repository.SectionStatusCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Available, reserved and booked seat counts per event and section, kept in memory so "seats
+ * left" and sold-out checks need no seat reads. An event's counts are loaded with one grouped
+ * count the first time they are asked for and then moved by every committed reserve, confirm
+ * and release. Loaded events are recounted together on a fixed interval to correct any drift from
+ * transitions that committed while the counts were being loaded. Only recently used events are
+ * kept, so the periodic recount stays one bounded query however many events the catalog has.
+ */
+@Service
+public class SeatAvailability {
+
+    private final EventSeatRepository eventSeatRepository;
+    private final CatalogCache catalogCache;
+    private final ConcurrentMap<Long, EventCounts> countsByEvent;
+
+    @Value("${booking.seat-storage:DENSE}")
+    private SeatStorageMode seatStorage;
+
+    public SeatAvailability(
+            EventSeatRepository eventSeatRepository,
+            CatalogCache catalogCache,
+            @Value("${booking.availability.maximum-events:1000}") long maximumEvents,
+            @Value("${booking.availability.idle-seconds:1800}") long idleSeconds
+    ) {
+        this.eventSeatRepository = eventSeatRepository;
+        this.catalogCache = catalogCache;
+        this.countsByEvent = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .maximumSize(maximumEvents)
+                .<Long, EventCounts>build()
+                .asMap();
+    }
+
+    public EventAvailability forEvent(Event event) {
+        Long venueId = event.getVenue().getId();
+        return toAvailability(event.getId(), venueId, countsFor(event.getId(), venueId));
+    }
+
+    /**
+     * Same as {@link #forEvent} for a list of events, loading any missing counts in one query.
+     */
+    public Map<Long, EventAvailability> forEvents(List<EventView> events) {
+        List<EventView> missing = events.stream()
+                .filter(event -> !countsByEvent.containsKey(event.id()))
+                .toList();
+        if (!missing.isEmpty()) {
+            Map<Long, List<SectionStatusCount>> stored = eventSeatRepository
+                    .countBySectionAndStatus(missing.stream().map(EventView::id).toList())
+                    .stream()
+                    .collect(Collectors.groupingBy(SectionStatusCount::eventId));
+            for (EventView event : missing) {
+                countsByEvent.putIfAbsent(event.id(), load(event.venueId(), stored.getOrDefault(event.id(), List.of())));
+            }
+        }
+
+        Map<Long, EventAvailability> availability = new HashMap<>();
+        for (EventView event : events) {
+            availability.put(event.id(), toAvailability(event.id(), event.venueId(), countsFor(event.id(), event.venueId())));
+        }
+        return availability;
+    }
+
+    /**
+     * Rejects a request for more seats than the section has left, before any seat is read.
+     */
+    public void checkAvailable(Event event, Section section, int requested) {
+        if (requested < 1) {
+            return;
+        }
+        Long eventId = event.getId();
+        Long venueId = event.getVenue().getId();
+        long available = availableIn(countsFor(eventId, venueId), section);
+        if (available >= requested) {
+            return;
+        }
+        if (available <= 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Section is sold out");
+        }
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Only " + available + " seats left in section");
+    }
+
+    public void reserved(Long eventId, Long sectionId, int count) {
+        afterCommit(eventId, sectionId, counts -> counts.move(-count, count, 0));
+    }
+
+    public void booked(Long eventId, Long sectionId, int count) {
+        afterCommit(eventId, sectionId, counts -> counts.move(0, -count, count));
+    }
+
+    public void released(Long eventId, Long sectionId, int count) {
+        afterCommit(eventId, sectionId, counts -> counts.move(count, -count, 0));
+    }
+
+    /**
+     * Seats held by unconfirmed reservations per loaded event, read from memory for the reserved
+     * seat gauge. An event is loaded once it has been listed, looked at or booked.
+     */
+    public Map<Long, Long> reservedByEvent() {
+        Map<Long, Long> reserved = new HashMap<>();
+        countsByEvent.forEach((eventId, counts) -> reserved.put(eventId,
+                counts.sections().values().stream().mapToLong(Counts::reserved).sum()));
+        return reserved;
+    }
+
+    public void invalidateEvent(Long eventId) {
+        countsByEvent.remove(eventId);
+    }
+
+    public void invalidateAll() {
+        countsByEvent.clear();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${booking.availability.refresh-millis:60000}",
+            initialDelayString = "${booking.availability.refresh-millis:60000}"
+    )
+    public void refresh() {
+        List<Long> eventIds = List.copyOf(countsByEvent.keySet());
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<SectionStatusCount>> stored = eventSeatRepository.countBySectionAndStatus(eventIds)
+                .stream()
+                .collect(Collectors.groupingBy(SectionStatusCount::eventId));
+        for (Long eventId : eventIds) {
+            EventCounts current = countsByEvent.get(eventId);
+            if (current != null) {
+                countsByEvent.replace(eventId, current, load(current.venueId(), stored.getOrDefault(eventId, List.of())));
+            }
+        }
+    }
+
+    private void afterCommit(Long eventId, Long sectionId, Consumer<Counts> change) {
+        TransactionHooks.afterCommit(() -> {
+            EventCounts counts = countsByEvent.get(eventId);
+            Counts section = counts == null ? null : counts.sections().get(sectionId);
+            if (section != null) {
+                change.accept(section);
+            }
+        });
+    }
+
+    private Map<Long, Counts> countsFor(Long eventId, Long venueId) {
+        return countsByEvent.computeIfAbsent(eventId, key -> loadEvent(eventId, venueId)).sections();
+    }
+
+    private EventCounts loadEvent(Long eventId, Long venueId) {
+        return load(venueId, eventSeatRepository.countBySectionAndStatus(List.of(eventId)));
+    }
+
+    /**
+     * Seats left in the section, or no limit for a section the counts do not know yet.
+     */
+    private static long availableIn(Map<Long, Counts> counts, Section section) {
+        Counts sectionCounts = counts.get(section.getId());
+        return sectionCounts == null ? Long.MAX_VALUE : sectionCounts.available();
+    }
+
+    private EventCounts load(Long venueId, List<SectionStatusCount> stored) {
+        Map<Long, Counts> counts = new HashMap<>();
+        for (Section section : catalogCache.findSectionsByVenue(venueId)) {
+            long capacity = seatStorage == SeatStorageMode.SPARSE
+                    ? (long) SparseSeats.rowsOf(section) * SparseSeats.columnsOf(section)
+                    : 0;
+            counts.put(section.getId(), new Counts(capacity));
+        }
+        for (SectionStatusCount count : stored) {
+            Counts section = counts.get(count.sectionId());
+            if (section == null) {
+                continue;
+            }
+            switch (count.status()) {
+                case AVAILABLE -> section.move(count.seatCount(), 0, 0);
+                case RESERVED -> section.move(seatStorage == SeatStorageMode.SPARSE ? -count.seatCount() : 0, count.seatCount(), 0);
+                case BOOKED -> section.move(seatStorage == SeatStorageMode.SPARSE ? -count.seatCount() : 0, 0, count.seatCount());
+            }
+        }
+        return new EventCounts(venueId, counts);
+    }
+
+    private EventAvailability toAvailability(Long eventId, Long venueId, Map<Long, Counts> counts) {
+        List<SectionAvailability> sections = catalogCache.findSectionsByVenue(venueId)
+                .stream()
+                .filter(section -> counts.containsKey(section.getId()))
+                .map(section -> counts.get(section.getId()).toView(section))
+                .toList();
+        return new EventAvailability(
+                eventId,
+                sections.stream().mapToLong(SectionAvailability::available).sum(),
+                sections.stream().mapToLong(SectionAvailability::reserved).sum(),
+                sections.stream().mapToLong(SectionAvailability::booked).sum(),
+                sections
+        );
+    }
+
+    private static final class Counts {
+
+        private long available;
+        private long reserved;
+        private long booked;
+
+        Counts(long available) {
+            this.available = available;
+        }
+
+        synchronized void move(long availableDelta, long reservedDelta, long bookedDelta) {
+            available += availableDelta;
+            reserved += reservedDelta;
+            booked += bookedDelta;
+        }
+
+        synchronized long available() {
+            return available;
+        }
+
+        synchronized long reserved() {
+            return reserved;
+        }
+
+        synchronized SectionAvailability toView(Section section) {
+            return new SectionAvailability(section.getId(), section.getName(), available, reserved, booked);
+        }
+    }
+
+    private record EventCounts(Long venueId, Map<Long, Counts> sections) {
+    }
+}
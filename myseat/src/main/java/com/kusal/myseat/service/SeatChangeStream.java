@@ -0,0 +1,255 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatDeltaBatch;
+import com.kusal.myseat.dto.SeatSnapshot;
+import com.kusal.myseat.dto.SeatStatusDelta;
+import com.kusal.myseat.dto.SeatView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans seat status deltas out to server-sent event subscribers. Emitters are async, so no thread
+ * is held per idle connection; each subscriber queues its own pending deltas and a small fixed
+ * pool of dispatcher threads drains those queues, a bounded number of batches at a time. A
+ * subscriber whose queue overflows is dropped rather than waited on, and resumes from the replay
+ * buffer (or a fresh snapshot) when the client reconnects with Last-Event-ID, so slow clients
+ * never hold up publishers. A write to a client that has stopped reading can still stall one
+ * dispatcher thread until the connector's write timeout fails it, which also drops the
+ * subscriber. Event ids are prefixed with the {@link SeatMapVersions} epoch, since sequences
+ * restart with the process; an id from before a restart gets a snapshot.
+ */
+@Service
+public class SeatChangeStream {
+
+    private static final int MAX_BATCHES_PER_DRAIN = 32;
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final long emitterTimeoutMillis;
+    private final int subscriberBufferSize;
+    private final int replaySize;
+    private final String epoch;
+
+    public SeatChangeStream(
+            SeatMapVersions seatMapVersions,
+            @Value("${seats.stream.timeout-millis:1800000}") long emitterTimeoutMillis,
+            @Value("${seats.stream.subscriber-buffer-size:256}") int subscriberBufferSize,
+            @Value("${seats.stream.replay-size:1024}") int replaySize,
+            @Value("${seats.stream.dispatcher-threads:4}") int dispatcherThreads
+    ) {
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-dispatcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replaySize = replaySize;
+        this.epoch = Long.toString(seatMapVersions.epoch());
+    }
+
+    public SseEmitter subscribe(Long eventId, String lastEventId, Supplier<List<SeatView>> snapshot) {
+        Channel channel = channelFor(eventId);
+        Subscriber subscriber = new Subscriber(channel, new SseEmitter(emitterTimeoutMillis));
+        Long lastSequence = sequenceOf(lastEventId);
+
+        // register before reading the snapshot so no delta committed afterwards is missed, but
+        // hold the drain until the snapshot or replay has been written
+        subscriber.draining.set(true);
+        channel.subscribers.add(subscriber);
+        List<SeatDeltaBatch> replay = lastSequence == null ? null : channel.replayAfter(lastSequence);
+        try {
+            if (replay != null) {
+                subscriber.lastSent = lastSequence;
+                for (SeatDeltaBatch batch : replay) {
+                    subscriber.send(batch);
+                }
+            } else {
+                long sequence = channel.sequence();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventIdOf(sequence))
+                        .name("snapshot")
+                        .data(new SeatSnapshot(sequence, snapshot.get())));
+                subscriber.lastSent = sequence;
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscriber.close();
+        }
+        subscriber.draining.set(false);
+        subscriber.scheduleDrain();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publishes deltas for an event once the current transaction commits.
+     */
+    public void publish(Long eventId, List<SeatStatusDelta> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            Channel channel = channels.get(eventId);
+            if (channel != null) {
+                channel.publish(changes);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::close));
+    }
+
+    private String eventIdOf(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Returns the sequence of an event id sent by this process, or null for a missing id or one
+     * sent before a restart.
+     */
+    private Long sequenceOf(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private Channel channelFor(Long eventId) {
+        return channels.computeIfAbsent(eventId, id -> new Channel());
+    }
+
+    private final class Channel {
+
+        private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Queue<SeatDeltaBatch> recent = new ArrayDeque<>();
+        private long sequence;
+
+        synchronized long sequence() {
+            return sequence;
+        }
+
+        void publish(List<SeatStatusDelta> changes) {
+            SeatDeltaBatch batch;
+            synchronized (this) {
+                batch = new SeatDeltaBatch(++sequence, changes);
+                recent.add(batch);
+                if (recent.size() > replaySize) {
+                    recent.poll();
+                }
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(batch);
+            }
+        }
+
+        /**
+         * Returns the batches after the given sequence, or null if they are no longer buffered.
+         */
+        synchronized List<SeatDeltaBatch> replayAfter(long lastSequence) {
+            if (lastSequence > sequence) {
+                return null;
+            }
+            SeatDeltaBatch oldest = recent.peek();
+            long oldestSequence = oldest == null ? sequence + 1 : oldest.sequence();
+            if (lastSequence + 1 < oldestSequence) {
+                return null;
+            }
+            return recent.stream()
+                    .filter(batch -> batch.sequence() > lastSequence)
+                    .toList();
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SeatDeltaBatch> pending = new ArrayBlockingQueue<>(subscriberBufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long lastSent;
+
+        Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+            emitter.onCompletion(this::detach);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        void offer(SeatDeltaBatch batch) {
+            if (!pending.offer(batch)) {
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!pending.isEmpty() && !closed.get() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                List<SeatDeltaBatch> batches = new ArrayList<>();
+                pending.drainTo(batches, MAX_BATCHES_PER_DRAIN);
+                for (SeatDeltaBatch batch : batches) {
+                    send(batch);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                draining.set(false);
+                scheduleDrain();
+            }
+        }
+
+        void send(SeatDeltaBatch batch) throws IOException {
+            if (batch.sequence() <= lastSent) {
+                return;
+            }
+            lastSent = batch.sequence();
+            emitter.send(SseEmitter.event()
+                    .id(eventIdOf(batch.sequence()))
+                    .name("delta")
+                    .data(batch));
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                detach();
+                emitter.complete();
+            }
+        }
+
+        private void detach() {
+            channel.subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.repository.EventRepository;
+import com.kusal.myseat.repository.EventSeatRepository;
+import com.kusal.myseat.repository.SectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each event's section seat grids, used to decide availability on the booking
+ * hot path without reading and version-checking seat rows. Claims are made in memory first and
+ * only accepted claims are written through to {@link EventSeatRepository}. Each grid also indexes the
+ * longest free run per row so best-available requests can pick a contiguous block directly.
+ *
+ * <p>The database stays the source of truth. A grid is dropped whenever a claim made on it rolls
+ * back, since the write-through failing means the grid disagreed with the stored seats, and the
+ * loaded grids are reloaded on a fixed interval to pick up any other drift.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private static final byte AVAILABLE = 0;
+    private static final byte RESERVED = 1;
+    private static final byte BOOKED = 2;
+
+    private final EventSeatRepository eventSeatRepository;
+    private final EventRepository eventRepository;
+    private final SectionRepository sectionRepository;
+
+    private final ConcurrentHashMap<GridKey, SectionGrid> grids = new ConcurrentHashMap<>();
+
+    @Value("${booking.inventory.enabled:false}")
+    private boolean enabled;
+
+    @Value("${booking.seat-storage:DENSE}")
+    private SeatStorageMode seatStorage;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the grids of upcoming events so the first on-sale requests do not pay for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Event event : eventRepository.findAll()) {
+            if (event.getVenue() == null || event.getEventDate() == null || event.getEventDate().isBefore(now)) {
+                continue;
+            }
+            for (Section section : sectionRepository.findByVenueId(event.getVenue().getId())) {
+                SectionGrid grid = load(event.getId(), section);
+                if (grid != null) {
+                    grids.put(new GridKey(event.getId(), section.getId()), grid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Atomically claims the given seats for the current transaction. The claim is rolled back in
+     * memory if the surrounding transaction does not commit.
+     */
+    public void reserve(Long eventId, Section section, List<Long> seatIds) {
+        GridKey key = new GridKey(eventId, section.getId());
+        SectionGrid grid = gridFor(key, section);
+        grid.reserve(seatIds);
+        TransactionHooks.afterRollback(() -> discard(key, grid, seatIds));
+    }
+
+    /**
+     * Picks and claims the best block of {@code count} adjacent free seats: the front-most row that
+     * has room, centred within that row. Rolled back in memory like {@link #reserve}.
+     */
+    public List<Long> allocate(Long eventId, Section section, int count) {
+        GridKey key = new GridKey(eventId, section.getId());
+        SectionGrid grid = gridFor(key, section);
+        List<Long> seatIds = grid.allocate(count);
+        TransactionHooks.afterRollback(() -> discard(key, grid, seatIds));
+        return seatIds;
+    }
+
+    public void markBooked(Long eventId, Long sectionId, Collection<Long> seatIds) {
+        afterCommit(new GridKey(eventId, sectionId), seatIds, BOOKED);
+    }
+
+    public void release(Long eventId, Long sectionId, Collection<Long> seatIds) {
+        afterCommit(new GridKey(eventId, sectionId), seatIds, AVAILABLE);
+    }
+
+    public void invalidateEvent(Long eventId) {
+        grids.keySet().removeIf(key -> key.eventId().equals(eventId));
+    }
+
+    public void invalidateSection(Long sectionId) {
+        grids.keySet().removeIf(key -> key.sectionId().equals(sectionId));
+    }
+
+    /**
+     * Reloads every loaded grid from the database. A claim in flight while its grid is swapped
+     * can lose to the database and is rejected like any other conflict.
+     */
+    @Scheduled(
+            fixedDelayString = "${booking.inventory.reconcile-millis:60000}",
+            initialDelayString = "${booking.inventory.reconcile-millis:60000}"
+    )
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        for (GridKey key : List.copyOf(grids.keySet())) {
+            SectionGrid fresh = sectionRepository.findById(key.sectionId())
+                    .map(section -> load(key.eventId(), section))
+                    .orElse(null);
+            if (fresh == null) {
+                grids.remove(key);
+            } else {
+                grids.replace(key, fresh);
+            }
+        }
+    }
+
+    /**
+     * Undoes a rolled-back claim and drops the grid, so the next request reloads it from the
+     * database instead of picking the same seats the database just refused.
+     */
+    private void discard(GridKey key, SectionGrid grid, List<Long> seatIds) {
+        grid.set(seatIds, AVAILABLE);
+        grids.remove(key, grid);
+    }
+
+    private void afterCommit(GridKey key, Collection<Long> seatIds, byte state) {
+        if (!enabled || seatIds.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            SectionGrid grid = grids.get(key);
+            if (grid != null) {
+                grid.set(seatIds, state);
+            }
+        });
+    }
+
+    private SectionGrid gridFor(GridKey key, Section section) {
+        SectionGrid grid = grids.computeIfAbsent(key, k -> load(k.eventId(), section));
+        if (grid == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Section has no seats");
+        }
+        return grid;
+    }
+
+    private SectionGrid load(Long eventId, Section section) {
+        List<SeatView> seats = eventSeatRepository.findSeatViewsByEventIdAndSectionId(eventId, section.getId());
+        if (seatStorage == SeatStorageMode.SPARSE) {
+            return SparseSeats.rowsOf(section) * SparseSeats.columnsOf(section) == 0
+                    ? null
+                    : SectionGrid.sparse(section, seats);
+        }
+        if (seats.isEmpty()) {
+            return null;
+        }
+        return new SectionGrid(section, seats);
+    }
+
+    private static byte toState(SeatStatus status) {
+        return switch (status) {
+            case AVAILABLE -> AVAILABLE;
+            case RESERVED -> RESERVED;
+            case BOOKED -> BOOKED;
+        };
+    }
+
+    /**
+     * Row-major status grid of one section. Seat ids are kept sorted alongside their cell index so
+     * lookups stay allocation free; a sparse grid needs no id index, since its ids are positions.
+     * {@code runTree} is a max segment tree over the longest free run of each row, refreshed for
+     * the touched rows on every change.
+     */
+    static final class SectionGrid {
+
+        private final long sparseSectionId;
+        private final int rows;
+        private final int columns;
+        private final long[] sortedSeatIds;
+        private final int[] cellBySeat;
+        private final long[] seatByCell;
+        private final byte[] cells;
+        private final int leaves;
+        private final int[] runTree;
+
+        SectionGrid(Section section, List<SeatView> seats) {
+            int rows = section.getTotalRows() == null ? 0 : section.getTotalRows();
+            int cols = section.getTotalColumns() == null ? 0 : section.getTotalColumns();
+            for (SeatView seat : seats) {
+                rows = Math.max(rows, seat.rowNumber());
+                cols = Math.max(cols, seat.columnNumber());
+            }
+            this.sparseSectionId = -1;
+            this.rows = rows;
+            this.columns = cols;
+            this.cells = new byte[rows * cols];
+            this.seatByCell = new long[rows * cols];
+            Arrays.fill(cells, BOOKED);
+
+            List<SeatView> ordered = new ArrayList<>(seats);
+            ordered.sort((a, b) -> Long.compare(a.id(), b.id()));
+            this.sortedSeatIds = new long[ordered.size()];
+            this.cellBySeat = new int[ordered.size()];
+            for (int i = 0; i < ordered.size(); i++) {
+                SeatView seat = ordered.get(i);
+                int cell = (seat.rowNumber() - 1) * cols + (seat.columnNumber() - 1);
+                sortedSeatIds[i] = seat.id();
+                cellBySeat[i] = cell;
+                seatByCell[cell] = seat.id();
+                cells[cell] = toState(seat.status());
+            }
+
+            this.leaves = Integer.highestOneBit(Math.max(rows, 1) * 2 - 1);
+            this.runTree = new int[leaves * 2];
+            buildRunTree();
+        }
+
+        private SectionGrid(long sectionId, int rows, int columns, List<SeatView> storedSeats) {
+            this.sparseSectionId = sectionId;
+            this.rows = rows;
+            this.columns = columns;
+            this.cells = new byte[rows * columns];
+            this.sortedSeatIds = null;
+            this.cellBySeat = null;
+            this.seatByCell = null;
+            for (SeatView seat : storedSeats) {
+                int row = seat.rowNumber() - 1;
+                int column = seat.columnNumber() - 1;
+                if (row >= 0 && row < rows && column >= 0 && column < columns) {
+                    cells[row * columns + column] = toState(seat.status());
+                }
+            }
+
+            this.leaves = Integer.highestOneBit(Math.max(rows, 1) * 2 - 1);
+            this.runTree = new int[leaves * 2];
+            buildRunTree();
+        }
+
+        /**
+         * Grid of a {@link SeatStorageMode#SPARSE} section, built from its stored seats alone with
+         * every other cell AVAILABLE.
+         */
+        static SectionGrid sparse(Section section, List<SeatView> storedSeats) {
+            return new SectionGrid(section.getId(), SparseSeats.rowsOf(section), SparseSeats.columnsOf(section), storedSeats);
+        }
+
+        private void buildRunTree() {
+            for (int row = 0; row < rows; row++) {
+                runTree[leaves + row] = longestRun(row);
+            }
+            for (int node = leaves - 1; node > 0; node--) {
+                runTree[node] = Math.max(runTree[2 * node], runTree[2 * node + 1]);
+            }
+        }
+
+        synchronized void reserve(List<Long> seatIds) {
+            int[] claimed = new int[seatIds.size()];
+            for (int i = 0; i < claimed.length; i++) {
+                int cell = cellOf(seatIds.get(i));
+                if (cell < 0) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat does not belong to selected section");
+                }
+                if (cells[cell] != AVAILABLE) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "One or more seats are not available");
+                }
+                claimed[i] = cell;
+            }
+            int[] sorted = claimed.clone();
+            Arrays.sort(sorted);
+            for (int i = 1; i < sorted.length; i++) {
+                if (sorted[i] == sorted[i - 1]) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate seat in request");
+                }
+            }
+            for (int cell : claimed) {
+                cells[cell] = RESERVED;
+                refreshRow(cell / columns);
+            }
+        }
+
+        synchronized List<Long> allocate(int count) {
+            if (count < 1 || count > columns) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Party size does not fit in a row of this section");
+            }
+            int row = frontRowWithRun(count);
+            if (row < 0) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "No " + count + " adjacent seats available in this section");
+            }
+
+            int start = centredStart(row, count);
+            List<Long> seatIds = new ArrayList<>(count);
+            for (int cell = start; cell < start + count; cell++) {
+                cells[cell] = RESERVED;
+                seatIds.add(seatIdOf(cell));
+            }
+            refreshRow(row);
+            return seatIds;
+        }
+
+        synchronized void set(Collection<Long> seatIds, byte state) {
+            for (Long seatId : seatIds) {
+                int cell = cellOf(seatId);
+                if (cell >= 0) {
+                    cells[cell] = state;
+                    refreshRow(cell / columns);
+                }
+            }
+        }
+
+        private int frontRowWithRun(int count) {
+            if (runTree[1] < count) {
+                return -1;
+            }
+            int node = 1;
+            while (node < leaves) {
+                node = runTree[2 * node] >= count ? 2 * node : 2 * node + 1;
+            }
+            return node - leaves;
+        }
+
+        /**
+         * Start cell of the free block of {@code count} seats whose midpoint is closest to the
+         * middle of the row.
+         */
+        private int centredStart(int row, int count) {
+            int base = row * columns;
+            int best = -1;
+            int bestDistance = Integer.MAX_VALUE;
+            int runStart = 0;
+            for (int col = 0; col <= columns; col++) {
+                if (col < columns && cells[base + col] == AVAILABLE) {
+                    continue;
+                }
+                if (col - runStart >= count) {
+                    int ideal = (columns - count) / 2;
+                    int start = Math.min(Math.max(ideal, runStart), col - count);
+                    int distance = Math.abs(start - ideal);
+                    if (distance < bestDistance) {
+                        best = start;
+                        bestDistance = distance;
+                    }
+                }
+                runStart = col + 1;
+            }
+            return base + best;
+        }
+
+        private void refreshRow(int row) {
+            int node = leaves + row;
+            runTree[node] = longestRun(row);
+            for (node /= 2; node > 0; node /= 2) {
+                runTree[node] = Math.max(runTree[2 * node], runTree[2 * node + 1]);
+            }
+        }
+
+        private int longestRun(int row) {
+            int base = row * columns;
+            int longest = 0;
+            int current = 0;
+            for (int col = 0; col < columns; col++) {
+                current = cells[base + col] == AVAILABLE ? current + 1 : 0;
+                longest = Math.max(longest, current);
+            }
+            return longest;
+        }
+
+        private int cellOf(Long seatId) {
+            if (sortedSeatIds == null) {
+                int row = SparseSeats.row(seatId) - 1;
+                int column = SparseSeats.column(seatId) - 1;
+                return SparseSeats.sectionId(seatId) == sparseSectionId
+                        && row >= 0 && row < rows && column >= 0 && column < columns
+                        ? row * columns + column
+                        : -1;
+            }
+            int index = Arrays.binarySearch(sortedSeatIds, seatId);
+            return index < 0 ? -1 : cellBySeat[index];
+        }
+
+        private long seatIdOf(int cell) {
+            return seatByCell == null
+                    ? SparseSeats.seatId(sparseSectionId, cell / columns + 1, cell % columns + 1)
+                    : seatByCell[cell];
+        }
+    }
+
+    private record GridKey(Long eventId, Long sectionId) {
+    }
+}
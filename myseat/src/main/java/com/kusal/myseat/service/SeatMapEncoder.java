@@ -0,0 +1,195 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.dto.SectionSeatMap;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes section seat grids into the compact seat-map forms. The JSON form run-length encodes
+ * seat ids and statuses; the binary form keeps the id runs and packs statuses into two bits per
+ * cell:
+ *
+ * <pre>
+ * byte   format version
+ * int    section count
+ * per section:
+ *   long sectionId, int totalRows, int totalColumns
+ *   int    id run count, then (long firstSeatId, int length) per run
+ *   byte[] ceil(rows * columns / 4) status bytes, first cell in the high bits
+ * </pre>
+ */
+public final class SeatMapEncoder {
+
+    public static final String BINARY_MEDIA_TYPE = "application/x-myseat-seatmap";
+
+    static final int NO_SEAT = SeatStatus.values().length;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private SeatMapEncoder() {
+    }
+
+    public static SectionSeatMap encode(Section section, List<SeatView> seats) {
+        int rows = section.getTotalRows() == null ? 0 : section.getTotalRows();
+        int columns = section.getTotalColumns() == null ? 0 : section.getTotalColumns();
+        long[] seatIds = new long[rows * columns];
+        int[] codes = new int[rows * columns];
+        Arrays.fill(codes, NO_SEAT);
+
+        for (SeatView seat : seats) {
+            int row = seat.rowNumber() - 1;
+            int column = seat.columnNumber() - 1;
+            if (row < 0 || row >= rows || column < 0 || column >= columns) {
+                continue;
+            }
+            int cell = row * columns + column;
+            seatIds[cell] = seat.id();
+            codes[cell] = seat.status().ordinal();
+        }
+
+        return new SectionSeatMap(
+                section.getId(),
+                section.getName(),
+                section.getPrice(),
+                rows,
+                columns,
+                encodeIdRuns(seatIds),
+                encodeStatusRuns(codes)
+        );
+    }
+
+    /**
+     * Encodes a {@link SeatStorageMode#SPARSE} section from its stored seats alone: every other
+     * cell is an AVAILABLE seat with its positional id, so each row is a single id run and the
+     * status runs are the gaps between stored cells. Nothing is allocated per cell.
+     */
+    public static SectionSeatMap encodeSparse(Section section, List<SeatView> storedSeats) {
+        int rows = SparseSeats.rowsOf(section);
+        int columns = SparseSeats.columnsOf(section);
+        SparseSeats.StoredCells stored = SparseSeats.storedCells(rows, columns, storedSeats);
+
+        List<Integer> statusRuns = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < stored.cells().length; i++) {
+            int cell = stored.cells()[i];
+            if (cell < next) {
+                continue;
+            }
+            appendStatusRun(statusRuns, SeatStatus.AVAILABLE.ordinal(), cell - next);
+            appendStatusRun(statusRuns, stored.statuses()[i].ordinal(), 1);
+            next = cell + 1;
+        }
+        appendStatusRun(statusRuns, SeatStatus.AVAILABLE.ordinal(), rows * columns - next);
+
+        List<Long> idRuns = new ArrayList<>(rows * 2);
+        for (int row = 1; row <= rows && columns > 0; row++) {
+            idRuns.add(SparseSeats.seatId(section.getId(), row, 1));
+            idRuns.add((long) columns);
+        }
+
+        return new SectionSeatMap(
+                section.getId(),
+                section.getName(),
+                section.getPrice(),
+                rows,
+                columns,
+                idRuns,
+                statusRuns
+        );
+    }
+
+    public static byte[] toBinary(List<SectionSeatMap> sections) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(sections.size());
+            for (SectionSeatMap section : sections) {
+                out.writeLong(section.sectionId());
+                out.writeInt(section.totalRows());
+                out.writeInt(section.totalColumns());
+
+                List<Long> idRuns = section.seatIdRuns();
+                out.writeInt(idRuns.size() / 2);
+                for (int i = 0; i < idRuns.size(); i += 2) {
+                    out.writeLong(idRuns.get(i));
+                    out.writeInt(idRuns.get(i + 1).intValue());
+                }
+
+                out.write(packStatuses(section.statusRuns(), section.totalRows() * section.totalColumns()));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static List<Long> encodeIdRuns(long[] seatIds) {
+        List<Long> runs = new ArrayList<>();
+        int i = 0;
+        while (i < seatIds.length) {
+            long first = seatIds[i];
+            int length = 1;
+            while (i + length < seatIds.length && continuesRun(first, length, seatIds[i + length])) {
+                length++;
+            }
+            runs.add(first);
+            runs.add((long) length);
+            i += length;
+        }
+        return runs;
+    }
+
+    private static boolean continuesRun(long first, int length, long next) {
+        return first == 0 ? next == 0 : next == first + length;
+    }
+
+    private static List<Integer> encodeStatusRuns(int[] codes) {
+        List<Integer> runs = new ArrayList<>();
+        int i = 0;
+        while (i < codes.length) {
+            int length = 1;
+            while (i + length < codes.length && codes[i + length] == codes[i]) {
+                length++;
+            }
+            runs.add(codes[i]);
+            runs.add(length);
+            i += length;
+        }
+        return runs;
+    }
+
+    private static void appendStatusRun(List<Integer> runs, int code, int length) {
+        if (length == 0) {
+            return;
+        }
+        int last = runs.size() - 2;
+        if (last >= 0 && runs.get(last) == code) {
+            runs.set(last + 1, runs.get(last + 1) + length);
+        } else {
+            runs.add(code);
+            runs.add(length);
+        }
+    }
+
+    private static byte[] packStatuses(List<Integer> statusRuns, int cellCount) {
+        byte[] packed = new byte[(cellCount + 3) / 4];
+        int cell = 0;
+        for (int i = 0; i < statusRuns.size(); i += 2) {
+            int code = statusRuns.get(i);
+            int end = cell + statusRuns.get(i + 1);
+            for (; cell < end; cell++) {
+                packed[cell >> 2] |= (byte) (code << (6 - 2 * (cell & 3)));
+            }
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kusal.myseat.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic seat inventory versions, used as seat-map ETags. Versions are kept per event; a
+ * layout change such as a new section bumps a shared generation instead of every event at the
+ * venue. Versions are bumped after commit so a reader never sees a new version with old data.
+ */
+@Service
+public class SeatMapVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentHashMap<Long, AtomicLong> versionsByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * When this process started. Anything numbered from in-memory counters, such as ETags and
+     * seat stream event ids, carries it so a value issued before a restart is never mistaken
+     * for a current one.
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    public String etagForEvent(Long eventId) {
+        return "\"" + epoch + "-" + generation.get() + "-" + eventId + "-" + versionOf(eventId).get() + "\"";
+    }
+
+    public void bump(Long eventId) {
+        bump(Set.of(eventId));
+    }
+
+    public void bump(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> eventIds.forEach(eventId -> versionOf(eventId).incrementAndGet()));
+    }
+
+    public void bumpAll() {
+        TransactionHooks.afterCommit(generation::incrementAndGet);
+    }
+
+    private AtomicLong versionOf(Long eventId) {
+        return versionsByEvent.computeIfAbsent(eventId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,6 @@
+package com.kusal.myseat.service;
+
+public enum SeatStorageMode {
+    DENSE,
+    SPARSE
+}
@@ -0,0 +1,147 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Seat ids and seat maps for {@link SeatStorageMode#SPARSE}, where a section's grid is implied by
+ * its rows and columns and only seats that are not available are stored. A seat id is its
+ * position, {@code sectionId << 32 | row << 16 | column}, which stays below 2^53 for section ids
+ * up to two million so clients can keep it in a JavaScript number.
+ */
+public final class SparseSeats {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private SparseSeats() {
+    }
+
+    public static long seatId(long sectionId, int row, int column) {
+        return sectionId << 32 | (long) row << 16 | column;
+    }
+
+    public static long sectionId(long seatId) {
+        return seatId >>> 32;
+    }
+
+    public static int row(long seatId) {
+        return (int) (seatId >>> 16) & 0xFFFF;
+    }
+
+    public static int column(long seatId) {
+        return (int) seatId & 0xFFFF;
+    }
+
+    public static boolean contains(Section section, long seatId) {
+        int row = row(seatId);
+        int column = column(seatId);
+        return sectionId(seatId) == section.getId()
+                && row >= 1 && row <= rowsOf(section)
+                && column >= 1 && column <= columnsOf(section);
+    }
+
+    /**
+     * Every seat of the given sections in order, taking the status of any stored seat and
+     * AVAILABLE for the rest. Views are made as the list is read, so only the stored seats are
+     * held however large the grid is.
+     */
+    public static List<SeatView> views(List<Section> sections, Map<Long, List<SeatView>> storedBySection) {
+        return new SeatList(sections, storedBySection);
+    }
+
+    /**
+     * The stored seats that fall inside a section's grid, as ascending row-major cell indexes
+     * with their statuses.
+     */
+    static StoredCells storedCells(int rows, int columns, List<SeatView> storedSeats) {
+        long[] packed = new long[storedSeats.size()];
+        int count = 0;
+        for (SeatView seat : storedSeats) {
+            int row = seat.rowNumber() - 1;
+            int column = seat.columnNumber() - 1;
+            if (row >= 0 && row < rows && column >= 0 && column < columns) {
+                packed[count++] = (long) (row * columns + column) << 8 | seat.status().ordinal();
+            }
+        }
+        Arrays.sort(packed, 0, count);
+
+        int[] cells = new int[count];
+        SeatStatus[] statuses = new SeatStatus[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = (int) (packed[i] >>> 8);
+            statuses[i] = STATUSES[(int) (packed[i] & 0xFF)];
+        }
+        return new StoredCells(cells, statuses);
+    }
+
+    static int rowsOf(Section section) {
+        return section.getTotalRows() == null ? 0 : section.getTotalRows();
+    }
+
+    static int columnsOf(Section section) {
+        return section.getTotalColumns() == null ? 0 : section.getTotalColumns();
+    }
+
+    record StoredCells(int[] cells, SeatStatus[] statuses) {
+
+        SeatStatus statusOf(int cell) {
+            int index = Arrays.binarySearch(cells, cell);
+            return index < 0 ? SeatStatus.AVAILABLE : statuses[index];
+        }
+    }
+
+    /**
+     * Read-only list over the cells of several sections, indexed by a prefix sum of their sizes.
+     */
+    private static final class SeatList extends AbstractList<SeatView> implements RandomAccess {
+
+        private final Section[] sections;
+        private final StoredCells[] stored;
+        private final int[] starts;
+        private final int size;
+
+        SeatList(List<Section> allSections, Map<Long, List<SeatView>> storedBySection) {
+            List<Section> nonEmpty = allSections.stream()
+                    .filter(section -> rowsOf(section) > 0 && columnsOf(section) > 0)
+                    .toList();
+            this.sections = nonEmpty.toArray(Section[]::new);
+            this.stored = new StoredCells[sections.length];
+            this.starts = new int[sections.length];
+            int total = 0;
+            for (int i = 0; i < sections.length; i++) {
+                Section section = sections[i];
+                stored[i] = storedCells(rowsOf(section), columnsOf(section),
+                        storedBySection.getOrDefault(section.getId(), List.of()));
+                starts[i] = total;
+                total += rowsOf(section) * columnsOf(section);
+            }
+            this.size = total;
+        }
+
+        @Override
+        public SeatView get(int index) {
+            Objects.checkIndex(index, size);
+            int position = Arrays.binarySearch(starts, index);
+            int i = position >= 0 ? position : -position - 2;
+            Section section = sections[i];
+            int cell = index - starts[i];
+            int columns = columnsOf(section);
+            int row = cell / columns + 1;
+            int column = cell % columns + 1;
+            return new SeatView(seatId(section.getId(), row, column), section.getId(), row, column, stored[i].statusOf(cell));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.kusal.myseat.stress;
+
+import com.kusal.myseat.MyseatApplication;
+import com.kusal.myseat.config.ConnectionPoolLimiter;
+import com.kusal.myseat.dto.BookingResponse;
+import com.kusal.myseat.dto.ConfirmBookingRequest;
+import com.kusal.myseat.dto.CreateBookingRequest;
+import com.kusal.myseat.dto.CreateEventRequest;
+import com.kusal.myseat.dto.CreateSectionRequest;
+import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.entity.Venue;
+import com.kusal.myseat.repository.SeatRepository;
+import com.kusal.myseat.service.BookingSequencer;
+import com.kusal.myseat.service.BookingService;
+import com.kusal.myseat.service.CatalogService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the real service layer against an in-memory H2 database in PostgreSQL mode and fires
+ * concurrent createBooking/confirmBooking calls at an overlapping pool of seats. Fails with a
+ * non-zero exit code if any seat ends up in two live bookings, or if generating a stadium-scale
+ * section (100k seats by default) takes longer than the configured limit.
+ *
+ * <p>Options are read as Spring properties, so booking modes can be switched on the same run:
+ * <pre>
+ * ./gradlew bookingStress -PstressArgs="--stress.users=500 --stress.seats=20 --booking.claim-mode=CONDITIONAL"
+ * </pre>
+ *
+ * <p>To compare the single-writer sequencer with direct writes, run each mode at 1, 8 and 64
+ * concurrent writers against the one event:
+ * <pre>
+ * ./gradlew bookingStress -PstressArgs="--stress.threads=64 --stress.seats=2000 --booking.inventory.enabled=true --booking.claim-mode=CONDITIONAL --booking.write-mode=SEQUENCED"
+ * </pre>
+ *
+ * <p>{@code --booking.seat-storage=SPARSE} runs the same load against sparse seat storage, where
+ * sections are created without seat rows.
+ *
+ * <p>{@code --stress.party-size=N --booking.inventory.enabled=true} books best-available blocks
+ * instead of random seats; every booking should then succeed until the section is full.
+ *
+ * <p>To compare thread models under the same load, run once as above and once on Java 21 with
+ * virtual threads. Each user then gets its own virtual thread and database work is gated by
+ * {@link ConnectionPoolLimiter}, as it is for HTTP requests:
+ * <pre>
+ * ./gradlew bookingStress -PjavaVersion=21 -PstressArgs="--stress.users=5000 --spring.threads.virtual.enabled=true"
+ * </pre>
+ */
+public class BookingStressHarness {
+
+    public static void main(String[] args) throws Exception {
+        // the embedded database is set in application-stress.yml, which overrides application.yml;
+        // builder default properties would not
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MyseatApplication.class)
+                .profiles("stress")
+                .run(args);
+
+        int exitCode;
+        try {
+            exitCode = new BookingStressHarness().run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private int run(ConfigurableApplicationContext context) throws InterruptedException {
+        Environment env = context.getEnvironment();
+        int users = env.getProperty("stress.users", Integer.class, 500);
+        int seatCount = env.getProperty("stress.seats", Integer.class, 20);
+        int seatsPerBooking = env.getProperty("stress.seats-per-booking", Integer.class, 2);
+        int threads = env.getProperty("stress.threads", Integer.class, 64);
+        Integer partySize = env.getProperty("stress.party-size", Integer.class);
+        boolean confirm = env.getProperty("stress.confirm", Boolean.class, true);
+        int bulkSectionSeats = env.getProperty("stress.bulk-section-seats", Integer.class, 100_000);
+        long bulkSectionMaxMillis = env.getProperty("stress.bulk-section-max-millis", Long.class, 10_000L);
+
+        CatalogService catalogService = context.getBean(CatalogService.class);
+        BookingService bookingService = context.getBean(BookingService.class);
+        BookingSequencer bookingSequencer = context.getBean(BookingSequencer.class);
+        SeatRepository seatRepository = context.getBean(SeatRepository.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Venue venue = catalogService.createVenue(new CreateVenueRequest("Stress Arena", "Nowhere"));
+        Section section = catalogService.createSection(new CreateSectionRequest("LAST_SEATS", 1000.0, 1, seatCount, venue.getId()));
+        Event event = catalogService.createEvent(new CreateEventRequest(
+                "Stress Event", null, null, LocalDateTime.now().plusDays(1).toString(), venue.getId(), null));
+        List<Long> seatPool = catalogService.getSeatsForEvent(event.getId()).stream()
+                .filter(seat -> seat.sectionId().equals(section.getId()))
+                .map(SeatView::id)
+                .toList();
+
+        long bulkStart = System.nanoTime();
+        Section stadium = catalogService.createSection(new CreateSectionRequest(
+                "STADIUM", 500.0, bulkSectionSeats / 500, 500, venue.getId()));
+        long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - bulkStart);
+        long stadiumSeats = seatRepository.countBySectionId(stadium.getId());
+        System.out.printf("%ncreated section of %d seats in %d ms%n", stadiumSeats, bulkMillis);
+
+        ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users);
+        ConnectionPoolLimiter limiter = context.getBeanProvider(ConnectionPoolLimiter.class).getIfAvailable();
+        ExecutorService executor = limiter != null ? virtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(threads);
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    List<Long> seatIds = partySize == null ? pickSeats(seatPool, seatsPerBooking) : null;
+                    long begin = System.nanoTime();
+                    try {
+                        CreateBookingRequest request = new CreateBookingRequest(
+                                null, event.getId(), venue.getId(), section.getId(), seatIds, partySize,
+                                "User " + user, "user" + user + "@stress.test", "CARD", "ref-" + user);
+                        BookingResponse booking = limited(limiter, () -> bookingSequencer.createBooking(request));
+                        if (confirm) {
+                            limited(limiter, () -> bookingService.confirmBooking(new ConfirmBookingRequest(booking.bookingId())));
+                        }
+                        booked.incrementAndGet();
+                    } catch (ResponseStatusException ex) {
+                        if (ex.getStatusCode() == HttpStatus.CONFLICT) {
+                            conflicts.incrementAndGet();
+                        } else if (ex.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+                            rejected.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (OptimisticLockingFailureException ex) {
+                        conflicts.incrementAndGet();
+                    } catch (RuntimeException ex) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latenciesNanos.add(System.nanoTime() - begin);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        executor.shutdown();
+
+        List<Long> doubleBooked = jdbcTemplate.queryForList(
+                "select count(*) from booking_seat bs join booking b on b.id = bs.booking_id " +
+                        "where b.status in ('RESERVED', 'CONFIRMED') " +
+                        "group by b.event_id, bs.seat_id, bs.section_id, bs.row_number, bs.column_number having count(*) > 1",
+                Long.class);
+
+        long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%nusers=%d seats=%d seatsPerBooking=%d threads=%s confirm=%b%n",
+                users, seatCount, seatsPerBooking, limiter != null ? "virtual" : threads, confirm);
+        System.out.printf("booked=%d conflicts=%d rejected=%d errors=%d elapsed=%.3fs%n",
+                booked.get(), conflicts.get(), rejected.get(), errors.get(), elapsedSeconds);
+        System.out.printf("bookings/sec=%.1f conflictRate=%.1f%% p50=%.2fms p99=%.2fms%n",
+                booked.get() / elapsedSeconds,
+                100.0 * conflicts.get() / users,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99));
+
+        if (bulkMillis > bulkSectionMaxMillis) {
+            System.out.println("FAILED: section generation took longer than " + bulkSectionMaxMillis + " ms");
+            return 1;
+        }
+        if (!doubleBooked.isEmpty()) {
+            System.out.println("FAILED: " + doubleBooked.size() + " seats held by more than one live booking");
+            return 1;
+        }
+        System.out.println("OK: no seat is held by more than one live booking");
+        return 0;
+    }
+
+    private static <T> T limited(ConnectionPoolLimiter limiter, Supplier<T> work) {
+        return limiter == null ? work.get() : limiter.call(work);
+    }
+
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime, run with -PjavaVersion=21", ex);
+        }
+    }
+
+    private static List<Long> pickSeats(List<Long> seatPool, int count) {
+        List<Long> shuffled = new ArrayList<>(seatPool);
+        Collections.shuffle(shuffled, ThreadLocalRandom.current());
+        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(sortedNanos[Math.max(index, 0)]) / 1000.0;
+    }
+}
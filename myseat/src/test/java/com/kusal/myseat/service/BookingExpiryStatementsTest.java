@@ -0,0 +1,110 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.CreateBookingRequest;
+import com.kusal.myseat.dto.CreateEventRequest;
+import com.kusal.myseat.dto.CreateSectionRequest;
+import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.entity.Venue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expiring reservations must cost the same handful of statements however many bookings and
+ * seats are in the batch; a per-booking or per-seat statement shows up as a growing count.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingExpiryStatementsTest {
+
+    private static final int SEATS_PER_BOOKING = 2;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatAvailability seatAvailability;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Venue venue;
+    private Section section;
+    private Event event;
+    private List<Long> freeSeats;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        venue = catalogService.createVenue(new CreateVenueRequest("Expiry Hall", "Nowhere"));
+        section = catalogService.createSection(new CreateSectionRequest("FLOOR", 100.0, 4, 20, venue.getId()));
+        event = catalogService.createEvent(new CreateEventRequest(
+                "Expiry Night", null, null, LocalDateTime.now().plusDays(1).toString(), venue.getId(), null));
+        freeSeats = new ArrayList<>(catalogService.getSeatsForEvent(event.getId()).stream()
+                .filter(seat -> seat.sectionId().equals(section.getId()))
+                .map(SeatView::id)
+                .toList());
+    }
+
+    @Test
+    void expiringTenBookingsTakesAsManyStatementsAsExpiringOne() {
+        long one = expireStatements(reserve(1));
+        long ten = expireStatements(reserve(10));
+
+        // lock the bookings, read their seats, release the seats, expire the bookings
+        assertThat(one).isEqualTo(4);
+        assertThat(ten).isEqualTo(one);
+    }
+
+    @Test
+    void expiredSeatsAreAvailableAgain() {
+        seatAvailability.forEvent(event);
+        List<Long> bookingIds = reserve(3);
+        assertThat(seatAvailability.forEvent(event).reserved()).isEqualTo(3 * SEATS_PER_BOOKING);
+
+        assertThat(bookingService.expireHolds(bookingIds)).isEqualTo(3);
+        assertThat(bookingService.expireHolds(bookingIds)).isZero();
+        assertThat(catalogService.getSeatsForEvent(event.getId()))
+                .filteredOn(seat -> seat.sectionId().equals(section.getId()))
+                .allMatch(seat -> seat.status() == SeatStatus.AVAILABLE);
+        // the in-memory counts are released too, not just the rows
+        assertThat(seatAvailability.forEvent(event).reserved()).isZero();
+    }
+
+    private List<Long> reserve(int bookings) {
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            List<Long> seatIds = new ArrayList<>(freeSeats.subList(0, SEATS_PER_BOOKING));
+            freeSeats.removeAll(seatIds);
+            bookingIds.add(bookingService.createBooking(new CreateBookingRequest(
+                    null, event.getId(), venue.getId(), section.getId(), seatIds, null,
+                    "Expiry " + i, "expiry" + i + "@myseat.test", "CARD", "ref-expiry-" + seatIds.get(0))).bookingId());
+        }
+        return bookingIds;
+    }
+
+    private long expireStatements(List<Long> bookingIds) {
+        statistics.clear();
+        bookingService.expireHolds(bookingIds);
+        return statistics.getPrepareStatementCount();
+    }
+}
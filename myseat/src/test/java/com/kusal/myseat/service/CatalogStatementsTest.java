@@ -0,0 +1,161 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.BookingResponse;
+import com.kusal.myseat.dto.ConfirmBookingRequest;
+import com.kusal.myseat.dto.CreateBookingRequest;
+import com.kusal.myseat.dto.CreateEventRequest;
+import com.kusal.myseat.dto.CreateSectionRequest;
+import com.kusal.myseat.dto.CreateVenueRequest;
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.entity.Event;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+import com.kusal.myseat.entity.Venue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the statements issued by catalog reads, a booking and a confirmation, counted with
+ * Hibernate statistics and with caches warm except the one a read is meant to fill. A count that
+ * grows with the number of rows read is how an N+1 load shows up.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogStatementsTest {
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SeatAvailability seatAvailability;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Venue venue;
+    private Section section;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        venue = catalogService.createVenue(new CreateVenueRequest("Statement Arena", "Nowhere"));
+        section = catalogService.createSection(new CreateSectionRequest("STALLS", 500.0, 10, 50, venue.getId()));
+        catalogService.createSection(new CreateSectionRequest("BALCONY", 800.0, 5, 20, venue.getId()));
+        event = catalogService.createEvent(new CreateEventRequest(
+                "Statement Night", null, null, LocalDateTime.now().plusDays(1).toString(), venue.getId(), null));
+
+        catalogService.getEvents(null, null, null, null, 20);
+        catalogService.getSectionsForVenue(venue.getId());
+        catalogService.getSeatsForEvent(event.getId());
+    }
+
+    @Test
+    void eventListTakesAtMostTwoStatements() {
+        long statements = statements(() -> {
+            seatAvailability.invalidateAll();
+            catalogService.getEvents(null, null, null, null, 20);
+        });
+
+        // the page of events, then one grouped count for all of their availability
+        assertThat(statements).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void venueSectionsTakeAtMostOneStatement() {
+        long statements = statements(() -> {
+            catalogCache.evictVenueSections(venue.getId());
+            catalogService.getSectionsForVenue(venue.getId());
+        });
+
+        assertThat(statements).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void seatListTakesAtMostOneStatement() {
+        long statements = statements(() -> catalogService.getSeatsForEvent(event.getId()));
+
+        assertThat(statements).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void bookingWithWarmCatalogCacheReadsOnlyTheSeats() {
+        List<Long> freeSeats = freeSeats();
+        reserve(freeSeats.subList(0, 1));
+
+        statistics.clear();
+        reserve(freeSeats.subList(1, 5));
+
+        // event, section and venue come from CatalogCache; the one read is the seats being claimed
+        assertThat(statistics.getPrepareStatementCount()
+                - statistics.getEntityInsertCount()
+                - statistics.getEntityUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    void confirmingFourSeatsReadsNoMoreThanConfirmingOne() {
+        List<Long> freeSeats = freeSeats();
+
+        long confirmOne = confirmReads(freeSeats.subList(0, 1));
+        long confirmFour = confirmReads(freeSeats.subList(1, 5));
+
+        // lock the booking, its event, its seats with their sections, the event seats to update
+        assertThat(confirmOne).isEqualTo(4);
+        assertThat(confirmFour).isEqualTo(confirmOne);
+    }
+
+    /**
+     * Statements issued by a confirmation other than the per-seat updates it has to write.
+     */
+    private long confirmReads(List<Long> seatIds) {
+        BookingResponse booking = reserve(seatIds);
+        statistics.clear();
+        bookingService.confirmBooking(new ConfirmBookingRequest(booking.bookingId()));
+        return statistics.getPrepareStatementCount() - statistics.getEntityUpdateCount();
+    }
+
+    private List<Long> freeSeats() {
+        return new ArrayList<>(catalogService.getSeatsForEvent(event.getId()).stream()
+                .filter(seat -> seat.sectionId().equals(section.getId()) && seat.status() == SeatStatus.AVAILABLE)
+                .map(SeatView::id)
+                .toList());
+    }
+
+    private BookingResponse reserve(List<Long> seatIds) {
+        return bookingService.createBooking(new CreateBookingRequest(
+                null, event.getId(), venue.getId(), section.getId(), seatIds, null,
+                "Counter", "counter@myseat.test", "CARD", "ref-counter-" + seatIds.get(0)));
+    }
+
+    /**
+     * Background jobs share the statistics, so a count is the lowest of three tries.
+     */
+    private long statements(Runnable call) {
+        long fewest = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 3; attempt++) {
+            statistics.clear();
+            call.run();
+            fewest = Math.min(fewest, statistics.getPrepareStatementCount());
+        }
+        return fewest;
+    }
+}
@@ -0,0 +1,82 @@
+package com.kusal.myseat.service;
+
+import com.kusal.myseat.dto.SeatView;
+import com.kusal.myseat.dto.SectionSeatMap;
+import com.kusal.myseat.entity.SeatStatus;
+import com.kusal.myseat.entity.Section;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sparse seat maps are built from the stored seats alone; they must read the same as the full
+ * grid they stand for.
+ */
+class SparseSeatsTest {
+
+    private final Section stalls = Section.builder().id(7L).name("STALLS").price(500.0).totalRows(3).totalColumns(4).build();
+    private final Section balcony = Section.builder().id(9L).name("BALCONY").price(800.0).totalRows(2).totalColumns(2).build();
+
+    private final List<SeatView> stored = List.of(
+            stored(stalls, 3, 4, SeatStatus.BOOKED),
+            stored(stalls, 1, 2, SeatStatus.RESERVED),
+            stored(stalls, 1, 3, SeatStatus.RESERVED),
+            stored(stalls, 2, 1, SeatStatus.BOOKED)
+    );
+
+    @Test
+    void viewsFillUnstoredCellsWithAvailableSeats() {
+        List<SeatView> seats = SparseSeats.views(List.of(stalls, balcony), Map.of(stalls.getId(), stored));
+
+        assertThat(seats).containsExactlyElementsOf(grid(stalls, stored, balcony));
+    }
+
+    @Test
+    void sparseEncodingMatchesDenseEncodingOfTheFullGrid() {
+        SectionSeatMap sparse = SeatMapEncoder.encodeSparse(stalls, stored);
+        SectionSeatMap dense = SeatMapEncoder.encode(stalls, grid(stalls, stored));
+
+        assertThat(sparse.statusRuns()).isEqualTo(dense.statusRuns());
+        assertThat(SeatMapEncoder.toBinary(List.of(sparse))).isEqualTo(SeatMapEncoder.toBinary(List.of(dense)));
+    }
+
+    @Test
+    void sparseGridClaimsTheSameSeatsAsTheFullGrid() {
+        SeatInventory.SectionGrid sparse = SeatInventory.SectionGrid.sparse(stalls, stored);
+        SeatInventory.SectionGrid dense = new SeatInventory.SectionGrid(stalls, grid(stalls, stored));
+
+        assertThat(sparse.allocate(3)).isEqualTo(dense.allocate(3)).hasSize(3);
+        assertThat(sparse.allocate(2)).isEqualTo(dense.allocate(2)).hasSize(2);
+    }
+
+    private static SeatView stored(Section section, int row, int column, SeatStatus status) {
+        return new SeatView(SparseSeats.seatId(section.getId(), row, column), section.getId(), row, column, status);
+    }
+
+    /**
+     * The naive expansion: one view per cell of each section, in order.
+     */
+    private static List<SeatView> grid(Section section, List<SeatView> storedSeats, Section... emptySections) {
+        List<SeatView> seats = new ArrayList<>();
+        for (int row = 1; row <= section.getTotalRows(); row++) {
+            for (int column = 1; column <= section.getTotalColumns(); column++) {
+                int r = row;
+                int c = column;
+                SeatStatus status = storedSeats.stream()
+                        .filter(seat -> seat.rowNumber() == r && seat.columnNumber() == c)
+                        .map(SeatView::status)
+                        .findFirst()
+                        .orElse(SeatStatus.AVAILABLE);
+                seats.add(stored(section, row, column, status));
+            }
+        }
+        for (Section empty : emptySections) {
+            seats.addAll(grid(empty, List.of()));
+        }
+        return seats;
+    }
+}